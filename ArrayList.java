@@ -1,6 +1,21 @@
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Generic class to implement an array-based list
@@ -9,10 +24,20 @@ import java.util.Comparator;
  * @since   2024-6-18 (date of last revision) 
  */
 public class ArrayList<E> implements List<E> {
+    // constant: the largest array readFrom allocates before the elements are actually read
+    private static final int READ_PRESIZE = 1 << 16;
     // data member: array for the list elements
     private E[] elements;
     // data member: size of the list
     private int size;
+    // data members: removed slots [gapStart, gapEnd) left open by list iterators, closed before any other access
+    private int gapStart, gapEnd;
+    // data member: number of structural modifications, checked by iterators and spliterators
+    private int modCount;
+    // data member: operation counters, null unless enableMetrics() was called
+    private ListMetrics metrics;
+    // data member: lists at or below this length are queried sequentially by the parallel aggregate methods
+    private int parallelThreshold = PARALLEL_THRESHOLD;
 
     /**
         Default constructor creates the array with a default length of 10 and sets size to 0
@@ -47,7 +72,9 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(1)
      */
     public void clear() {
-        size = 0; 
+        size = 0;
+        gapStart = gapEnd = 0;
+        modCount++; 
     }
 
     /**
@@ -79,14 +106,18 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
     */
     public void add(int index, E item) {
+        closeGap();
         if (index > size || index < 0)
             throw new ArrayIndexOutOfBoundsException();
-        ensureCapacity();
-        for (int i = size - 1; i >= index; i--) {
-            elements[i + 1] = elements[i];
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        if (metrics != null) {
+            metrics.adds++;
+            metrics.elementsShifted += size - index;
         }
         elements[index] = item;
         size++;
+        modCount++;
     }
 
     /**
@@ -96,14 +127,7 @@ public class ArrayList<E> implements List<E> {
      * Time complexity: O(n)
      */ 
     public boolean contains(Object o) {
-        Iterator<E> iter = this.iterator();
-        while (iter.hasNext()) {
-            E element = iter.next();
-            if (element.equals(o)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(o) >= 0;
     }
 
     /**
@@ -114,7 +138,10 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(1)
      */
     public E get(int index) {
+        closeGap();
         checkIndex(index);
+        if (metrics != null)
+            metrics.gets++;
         return elements[index];
     }
 
@@ -127,7 +154,10 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(1)
      */
     public E set(int index, E newValue) {
+        closeGap();
         checkIndex(index);
+        if (metrics != null)
+            metrics.sets++;
         E oldValue = elements[index];
         elements[index] = newValue;
         return oldValue;
@@ -140,13 +170,69 @@ public class ArrayList<E> implements List<E> {
      * Time complexity: O(n)
      */
     public boolean remove(Object o) {
-        for (int i = 0; i < size; i++) {
-            if (elements[i].equals(o)) {
-                remove(i);
-                return true;
+        int i = indexOf(o);
+        if (i < 0)
+            return false;
+        remove(i);
+        return true;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one compaction pass: kept elements
+        are moved down behind a write cursor and the vacated tail slots are cleared.
+        If the predicate throws, the elements it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        closeGap();
+        return removeIf(filter, 0, size) > 0;
+    }
+
+    /**
+        Remove the elements of [from, to) that satisfy a predicate in one compaction pass,
+        then move the elements after the range down with a single block move
+        @param filter a predicate which returns true for the elements to be removed
+        @param from index of the first element to test
+        @param to index after the last element to test
+        @return the number of elements removed
+        Time complexity: O(n - from)
+     */
+    private int removeIf(Predicate<? super E> filter, int from, int to) {
+        int oldSize = size;
+        int read = from;
+        int write = from;
+        int firstRemoved = -1;
+        try {
+            for (; read < to; read++) {
+                E e = elements[read];
+                if (filter.test(e)) {
+                    if (firstRemoved < 0)
+                        firstRemoved = read;
+                } else {
+                    if (write != read)
+                        elements[write] = e;
+                    write++;
+                }
+            }
+        } finally {
+            if (read < size) {
+                if (write != read)
+                    System.arraycopy(elements, read, elements, write, size - read);
+                write += size - read;
+            }
+            if (write < size) {
+                Arrays.fill(elements, write, size, null);
+                if (metrics != null) {
+                    metrics.removes += size - write;
+                    metrics.elementsShifted += write - firstRemoved;
+                }
+                modCount++;
+                size = write;
             }
         }
-        return false;
+        return oldSize - size;
     }
 
     /**
@@ -157,12 +243,16 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public E remove(int index) {
+        closeGap();
         checkIndex(index);
         E val = elements[index];
-        for (int i = index; i < size - 1; i++) {
-            elements[i] = elements[i + 1];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        if (metrics != null) {
+            metrics.removes++;
+            metrics.elementsShifted += size - index - 1;
         }
-        size--;
+        elements[--size] = null;
+        modCount++;
         return val;
     }
 
@@ -171,26 +261,29 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n) if trimming needed
      */
     public void trimToSize() {
+        closeGap();
         if (size != elements.length) {
-            E[] newElements = (E[]) new Object[size];
-            for (int i = 0; i < size; i++)
-                newElements[i] = elements[i];
-            elements = newElements;
+            if (metrics != null) {
+                metrics.resizes++;
+                metrics.resizeElementsCopied += size;
+            }
+            elements = Arrays.copyOf(elements, size);
         }
     }
 
     /**
-        Grow the length of the array 'elements' by 1.5 if it is full
+        Grow the length of the array 'elements' by 1.5 until it can hold minCapacity elements
+        @param minCapacity the number of elements the array must be able to hold
         Time complexity: O(n) if the size reaches the capacity
     */
-    private void ensureCapacity() {
-        if (size >= elements.length) {
-            int newCap = (int) (elements.length * 1.5);
-            E[] newElements = (E[]) new Object[newCap];
-            for (int i = 0; i < size; i++) {
-                newElements[i] = elements[i];
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int newCap = Math.max(elements.length + (elements.length >> 1), minCapacity);
+            if (metrics != null) {
+                metrics.resizes++;
+                metrics.resizeElementsCopied += elements.length;
             }
-            elements = newElements;
+            elements = Arrays.copyOf(elements, newCap);
         }
     }
 
@@ -206,21 +299,368 @@ public class ArrayList<E> implements List<E> {
                 "Index out of bounds. Must be between 0 and " + (size - 1));
     }
 
+    /**
+        Check if the range [from, to) lies within a list of the given length
+        @throws ArrayIndexOutOfBoundsException if from < 0, to > length or from > to
+        Time complexity: O(1)
+     */
+    private static void checkRange(int from, int to, int length) {
+        if (from < 0 || to > length || from > to)
+            throw new ArrayIndexOutOfBoundsException(
+                "Range [" + from + ", " + to + ") out of bounds for length " + length);
+    }
+
+    /**
+        Map a list index to its position in the array 'elements', skipping the gap
+        @param index the index in the list
+        @return the position of the element in the array
+        Time complexity: O(1)
+     */
+    private int physicalIndex(int index) {
+        return index < gapStart ? index : index + (gapEnd - gapStart);
+    }
+
+    /**
+        Move the gap left open by list iterators so that it starts at list index 'index'
+        Only the elements between the old and new gap positions are moved
+        @param index the list index where the gap should start
+        Time complexity: O(d) where d is the distance the gap moves
+     */
+    private void moveGap(int index) {
+        int gap = gapEnd - gapStart;
+        if (metrics != null && gap != 0)
+            metrics.elementsShifted += Math.abs(index - gapStart);
+        if (gap == 0) {
+            gapStart = gapEnd = index;
+        } else if (index > gapStart) {
+            int d = index - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, d);
+            Arrays.fill(elements, Math.max(gapEnd, gapStart + d), gapEnd + d, null);
+            gapStart += d;
+            gapEnd += d;
+        } else if (index < gapStart) {
+            int d = gapStart - index;
+            System.arraycopy(elements, index, elements, gapEnd - d, d);
+            Arrays.fill(elements, index, index + Math.min(d, gap), null);
+            gapStart -= d;
+            gapEnd -= d;
+        }
+    }
+
+    /**
+        Close the gap left open by list iterators with a single block move
+        Time complexity: O(n) if a gap is open, O(1) otherwise
+     */
+    private void closeGap() {
+        if (gapStart != gapEnd) {
+            int gap = gapEnd - gapStart;
+            if (metrics != null)
+                metrics.elementsShifted += size - gapStart;
+            System.arraycopy(elements, gapEnd, elements, gapStart, size - gapStart);
+            Arrays.fill(elements, size, size + gap, null);
+            gapStart = gapEnd = 0;
+        }
+    }
+
     /**
         @override iterator() from the interface Collection
         @return iterator object pointing to the first element the list
         Time complexity: O(1)
      */
     public Iterator<E> iterator() {
-        return new ArrayIterator();
+        return new ArrayIterator(0);
+    }
+
+    /**
+        @return list iterator positioned before the first element of the list
+        Time complexity: O(1)
+     */
+    public ListIterator<E> listIterator() {
+        return new ArrayIterator(0);
     }
 
     /**
-        Inner class to implement the interface Iterator<E>
+        @param index the index of the first element to be returned by next()
+        @return list iterator positioned before the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(1)
      */
-    private class ArrayIterator implements Iterator<E> {
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + size);
+        return new ArrayIterator(index);
+    }
+
+    /**
+        Inner class for a view of a range of the list; every operation checks that the list
+        was changed only through this view or the views it was taken from, and structural
+        changes update the size of each of those views
+     */
+    private class SubList implements List<E> {
+        // data member: the view this one was taken from, or null for a view of the list itself
+        private final SubList parent;
+        // data member: position of the first element of the view in the list
+        private final int offset;
+        // data member: number of elements in the view
+        private int size;
+        // data member: modCount of the list when the view was last changed or created
+        private int expectedModCount = modCount;
+
+        /**
+            Constructor
+            @param parent the view this one was taken from, or null
+            @param offset position of the first element of the view in the list
+            @param size number of elements in the view
+         */
+        SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public E get(int index) {
+            checkIndex(index);
+            return ArrayList.this.get(offset + index);
+        }
+
+        public E set(int index, E newVal) {
+            checkIndex(index);
+            return ArrayList.this.set(offset + index, newVal);
+        }
+
+        public boolean add(E item) {
+            add(size, item);
+            return true;
+        }
+
+        public void add(int index, E item) {
+            checkForComodification();
+            if (index > size || index < 0)
+                throw new ArrayIndexOutOfBoundsException();
+            ArrayList.this.add(offset + index, item);
+            resized(1);
+        }
+
+        public boolean addAll(Collection<E> c) {
+            return addAll(size, c);
+        }
+
+        public boolean addAll(int index, Collection<E> c) {
+            checkForComodification();
+            if (index > size || index < 0)
+                throw new ArrayIndexOutOfBoundsException();
+            int before = ArrayList.this.size;
+            boolean changed = ArrayList.this.addAll(offset + index, c);
+            resized(ArrayList.this.size - before);
+            return changed;
+        }
+
+        public E remove(int index) {
+            checkIndex(index);
+            E value = ArrayList.this.remove(offset + index);
+            resized(-1);
+            return value;
+        }
+
+        public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0)
+                return false;
+            remove(index);
+            return true;
+        }
+
+        /**
+            Remove every element of the view that satisfies a predicate in one compaction pass
+            Time complexity: O(n - offset)
+         */
+        public boolean removeIf(Predicate<? super E> filter) {
+            checkForComodification();
+            closeGap();
+            int removed = ArrayList.this.removeIf(filter, offset, offset + size);
+            resized(-removed);
+            return removed > 0;
+        }
+
+        /**
+            Remove the elements of the view from the list with one block move
+            Time complexity: O(n - offset)
+         */
+        public void clear() {
+            checkForComodification();
+            removeRange(offset, offset + size);
+            resized(-size);
+        }
+
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        public int indexOf(Object o) {
+            checkForComodification();
+            closeGap();
+            for (int i = 0; i < size; i++) {
+                if (elements[offset + i].equals(o)) {
+                    countSearch(i + 1);
+                    return i;
+                }
+            }
+            countSearch(size);
+            return -1;
+        }
+
+        public int lastIndexOf(Object o) {
+            checkForComodification();
+            closeGap();
+            for (int i = size - 1; i >= 0; i--) {
+                if (elements[offset + i].equals(o)) {
+                    countSearch(size - i);
+                    return i;
+                }
+            }
+            countSearch(size);
+            return -1;
+        }
+
+        /**
+            Sort the view with the stable merge sort of the list, on a copy of the range
+            Time complexity: O(k log k) where k is the size of the view
+         */
+        public void sort(Comparator<E> c) {
+            Object[] range = toArray();
+            if (size >= 2)
+                mergeSort(range, 0, size, (Comparator<Object>) c, size < MIN_MERGE ? null : new Object[size]);
+            System.arraycopy(range, 0, elements, offset, size);
+            modCount++;
+            resized(0);
+        }
+
+        public Object[] toArray() {
+            checkForComodification();
+            closeGap();
+            return Arrays.copyOfRange(elements, offset, offset + size, Object[].class);
+        }
+
+        public Iterator<E> iterator() {
+            checkForComodification();
+            closeGap();
+            return new SubListIterator();
+        }
+
+        /**
+            @return a view of a range of this view, which writes through to this view
+            Time complexity: O(1)
+         */
+        public List<E> subList(int from, int to) {
+            checkForComodification();
+            checkRange(from, to, size);
+            return new SubList(this, offset + from, to - from);
+        }
+
+        public boolean equals(Object o) {
+            checkForComodification();
+            closeGap();
+            if (o == this)
+                return true;
+            if (!(o instanceof List))
+                return false;
+            List<?> list = (List<?>) o;
+            if (list.size() != size)
+                return false;
+            Iterator<?> iter = list.iterator();
+            for (int i = 0; i < size; i++) {
+                if (!elements[offset + i].equals(iter.next()))
+                    return false;
+            }
+            return true;
+        }
+
+        public String toString() {
+            checkForComodification();
+            return ListText.format(iterator(), size, Integer.MAX_VALUE);
+        }
+
+        /**
+            Record a structural change of delta elements made through this view
+            Time complexity: O(d) where d is the number of views this one was taken from
+         */
+        private void resized(int delta) {
+            for (SubList view = this; view != null; view = view.parent) {
+                view.size += delta;
+                view.expectedModCount = modCount;
+            }
+        }
+
+        private void checkIndex(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size)
+                throw new ArrayIndexOutOfBoundsException(
+                    "Index out of bounds. Must be between 0 and " + (size - 1));
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+            Inner class to iterate over the view; removals go through the view
+         */
+        private class SubListIterator implements Iterator<E> {
+            // data member: index in the view of the next element
+            private int current;
+            // data member: index in the view of the last element returned, -1 if none
+            private int lastReturned = -1;
+
+            public boolean hasNext() {
+                return current < size;
+            }
+
+            public E next() {
+                checkForComodification();
+                if (current >= size)
+                    throw new NoSuchElementException();
+                lastReturned = current++;
+                return elements[offset + lastReturned];
+            }
+
+            public void remove() {
+                if (lastReturned < 0)
+                    throw new IllegalStateException();
+                SubList.this.remove(lastReturned);
+                current = lastReturned;
+                lastReturned = -1;
+            }
+        }
+    }
+
+    /**
+        Inner class to implement the interface ListIterator<E>
+        Elements removed through the iterator are collected in a gap that follows the
+        iterator, so a filtering pass moves each kept element at most once. The gap is
+        closed with one block move by the next list operation that is not an iterator call
+     */
+    private class ArrayIterator implements ListIterator<E> {
         // data member current: the index of the element at which the iterator is pointing
-        private int current = 0;
+        private int current;
+        // data member lastReturned: the index of the element last returned by next or previous, -1 if none
+        private int lastReturned = -1;
+        // data member expectedModCount: modCount of the list when this iterator last changed it
+        private int expectedModCount = modCount;
+
+        ArrayIterator(int index) {
+            current = index;
+        }
 
         /**
             @return true if current did not reach the end of the list, false otherwise
@@ -236,9 +676,212 @@ public class ArrayList<E> implements List<E> {
             Time complexity: O(1)
          */
         public E next() {
+            checkForComodification();
             if (current < 0 || current >= size)
                 throw new ArrayIndexOutOfBoundsException("No more elements");
-            return elements[current++];
+            lastReturned = current;
+            return elements[physicalIndex(current++)];
+        }
+
+        /**
+            @return true if there is an element before current, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasPrevious() {
+            return current > 0;
+        }
+
+        /**
+            @return the value of the element before current and moves the index current back to it
+            @throws ArrayIndexOutOfBoundsException if there is no element before current
+            Time complexity: O(1)
+         */
+        public E previous() {
+            checkForComodification();
+            if (current <= 0 || current > size)
+                throw new ArrayIndexOutOfBoundsException("No previous element");
+            lastReturned = --current;
+            return elements[physicalIndex(current)];
+        }
+
+        /**
+            @return the index of the element returned by the next call to next()
+            Time complexity: O(1)
+         */
+        public int nextIndex() {
+            return current;
+        }
+
+        /**
+            @return the index of the element returned by the next call to previous()
+            Time complexity: O(1)
+         */
+        public int previousIndex() {
+            return current - 1;
+        }
+
+        /**
+            Remove the element last returned by next or previous by widening the gap
+            @throws IllegalStateException if no element was returned since the last remove or add
+            Time complexity: O(1) amortized over a traversal
+         */
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            moveGap(lastReturned);
+            elements[gapEnd++] = null;
+            if (metrics != null)
+                metrics.removes++;
+            size--;
+            expectedModCount = ++modCount;
+            current = lastReturned;
+            lastReturned = -1;
+        }
+
+        /**
+            Replace the element last returned by next or previous
+            @param value the new value of the element
+            @throws IllegalStateException if no element was returned since the last remove or add
+            Time complexity: O(1)
+         */
+        public void set(E value) {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            checkForComodification();
+            elements[physicalIndex(lastReturned)] = value;
+        }
+
+        /**
+            Insert an element before current, filling the gap if one is open
+            @param value the value of the element to be added
+            Time complexity: O(1) if a gap is open, O(n) otherwise
+         */
+        public void add(E value) {
+            checkForComodification();
+            if (gapStart != gapEnd) {
+                moveGap(current);
+                elements[gapStart++] = value;
+                if (metrics != null)
+                    metrics.adds++;
+                size++;
+                modCount++;
+            } else {
+                ArrayList.this.add(current, value);
+            }
+            expectedModCount = modCount;
+            current++;
+            lastReturned = -1;
+        }
+
+        /**
+            @throws ConcurrentModificationException if the list was changed other than through this iterator
+            Time complexity: O(1)
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+        @override spliterator() from the interface Collection
+        @return a late-binding, fail-fast spliterator over the elements of the list
+        Time complexity: O(1)
+     */
+    public Spliterator<E> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    /**
+        Inner class to implement the interface Spliterator<E> over a range of the array
+        Splitting halves the range in O(1), so parallel streams divide work evenly
+     */
+    private class ArraySpliterator implements Spliterator<E> {
+        // data member index: the index of the next element to be traversed
+        private int index;
+        // data member fence: one past the last index to be traversed, -1 until first use
+        private int fence;
+        // data member expectedModCount: modCount of the list when the fence was set
+        private int expectedModCount;
+
+        ArraySpliterator(int origin, int fence, int expectedModCount) {
+            this.index = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        /**
+            Bind to the current size of the list on first use
+            @return the fence of this spliterator
+            Time complexity: O(1), O(n) if a list iterator left a gap open
+         */
+        private int getFence() {
+            if (fence < 0) {
+                closeGap();
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        /**
+            @return a spliterator covering the lower half of the remaining range, or null if it is too small to split
+            Time complexity: O(1)
+         */
+        public Spliterator<E> trySplit() {
+            int hi = getFence();
+            int lo = index;
+            int mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null : new ArraySpliterator(lo, index = mid, expectedModCount);
+        }
+
+        /**
+            @param action the action applied to the next element
+            @return true if an element was traversed, false at the end of the range
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public boolean tryAdvance(Consumer<? super E> action) {
+            int hi = getFence();
+            if (index >= hi)
+                return false;
+            E e = elements[index++];
+            action.accept(e);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        /**
+            @param action the action applied to each remaining element
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(n)
+         */
+        public void forEachRemaining(Consumer<? super E> action) {
+            int hi = getFence();
+            E[] a = elements;
+            for (int i = index; i < hi; i++)
+                action.accept(a[i]);
+            index = hi;
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+            @return the number of elements left in the range
+            Time complexity: O(1)
+         */
+        public long estimateSize() {
+            return getFence() - index;
+        }
+
+        /**
+            @return ORDERED, SIZED and SUBSIZED
+            Time complexity: O(1)
+         */
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
     }
 
@@ -248,29 +891,127 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public String toString() {
-        StringBuilder output = new StringBuilder("[");
-        for (int i = 0; i < size - 1; i++)
-            output.append(elements[i]).append(" ");
-        if (size > 0)
-            output.append(elements[size - 1]);
-        output.append("]");
-        return output.toString();
+        return toString(Integer.MAX_VALUE);
+    }
+
+    /**
+        Format at most maxElements elements of the list, for logging large lists
+        @param maxElements the number of elements to show
+        @return a formatted string such as [6 11 25 ... 12 more] when elements are left out
+        @throws IllegalArgumentException if maxElements < 0
+        Time complexity: O(min(n, maxElements))
+     */
+    public String toString(int maxElements) {
+        closeGap();
+        return ListText.format(iterator(), size, maxElements);
+    }
+
+    /**
+        Write the list in the format of toString() to a Writer or any other Appendable,
+        without building the whole string
+        @param out the destination of the text, it is neither flushed nor closed
+        @throws IOException if out fails
+        Time complexity: O(n)
+     */
+    public void writeTo(Appendable out) throws IOException {
+        closeGap();
+        ListText.write(iterator(), size, out, Integer.MAX_VALUE);
     }
 
     /**
         Adds all elements from the specified collection to this list
+        The array grows at most once; lists are copied in one block
         @param c the collection containing elements to be added
         @return true if this list changed as a result of the call
         Time complexity: O(n)
      */
     public boolean addAll(Collection<E> c) {
-        for (Iterator<E> iterator = c.iterator(); iterator.hasNext();) {
-            E element = iterator.next();
-            add(element);
+        closeGap();
+        return addAll(size, c);
+    }
+
+    /**
+        Inserts all elements from the specified collection at a given position index
+        The elements after index are shifted once by the size of the collection, the array
+        grows at most once, and lists are copied in one block
+        @param index the position where the first element of c should be added
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(n + m) where m is the size of c
+     */
+    public boolean addAll(int index, Collection<E> c) {
+        closeGap();
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        int count = c.size();
+        if (count == 0)
+            return false;
+        // other lists are copied before the shift, which may move them if they are views of this list
+        Object[] source = null;
+        if (c instanceof ArrayList && c != this) {
+            ArrayList<E> other = (ArrayList<E>) c;
+            other.closeGap();
+            source = other.elements;
+        } else if (c instanceof List) {
+            source = ((List<E>) c).toArray();
         }
+        ensureCapacity(size + count);
+        System.arraycopy(elements, index, elements, index + count, size - index);
+        if (source != null) {
+            System.arraycopy(source, 0, elements, index, count);
+        } else {
+            Iterator<E> iterator = c.iterator();
+            for (int i = 0; i < count; i++)
+                elements[index + i] = iterator.next();
+        }
+        if (metrics != null) {
+            metrics.adds += count;
+            metrics.elementsShifted += size - index;
+        }
+        size += count;
+        modCount++;
         return true;
     }
 
+    /**
+        Remove the elements from index from, inclusive, to index to, exclusive, with one block move
+        @param from index of the first element to remove
+        @param to index after the last element to remove
+        @throws ArrayIndexOutOfBoundsException if from < 0, to > size or from > to
+        Time complexity: O(n - from)
+     */
+    public void removeRange(int from, int to) {
+        closeGap();
+        checkRange(from, to, size);
+        int count = to - from;
+        if (count == 0)
+            return;
+        System.arraycopy(elements, to, elements, from, size - to);
+        Arrays.fill(elements, size - count, size, null);
+        if (metrics != null) {
+            metrics.removes += count;
+            metrics.elementsShifted += size - to;
+        }
+        size -= count;
+        modCount++;
+    }
+
+    /**
+        Returns a view of the elements from index from, inclusive, to index to, exclusive
+        The view reads and writes through to this list; changes made to this list other than
+        through the view make the view throw ConcurrentModificationException
+        @param from index of the first element of the view
+        @param to index after the last element of the view
+        @return a list view of the range
+        @throws ArrayIndexOutOfBoundsException if from < 0, to > size or from > to
+        Time complexity: O(1)
+     */
+    public List<E> subList(int from, int to) {
+        checkRange(from, to, size);
+        return new SubList(null, from, to - from);
+    }
+
     /**
         Compares the specified object with this list for equality
         @param o the object to be compared for equality with this list
@@ -278,6 +1019,7 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public boolean equals(Object o) {
+        closeGap();
         if (o == this)
             return true;
         if (!(o instanceof List))
@@ -285,11 +1027,12 @@ public class ArrayList<E> implements List<E> {
         List<?> list = (List<?>) o;
         if (list.size() != size)
             return false;
+        Iterator<?> iter = list.iterator();
         for (int i = 0; i < size; i++) {
-            if (!elements[i].equals(list.get(i)))
+            if (!iter.hasNext() || !elements[i].equals(iter.next()))
                 return false;
         }
-        return true;
+        return !iter.hasNext();
     }
 
     /**
@@ -299,10 +1042,14 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public int indexOf(Object o) {
+        closeGap();
         for (int i = 0; i < size; i++) {
-            if (elements[i].equals(o))
+            if (elements[i].equals(o)) {
+                countSearch(i + 1);
                 return i;
+            }
         }
+        countSearch(size);
         return -1;
     }
 
@@ -313,10 +1060,14 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public int lastIndexOf(Object o) {
+        closeGap();
         for (int i = size - 1; i >= 0; i--) {
-            if (elements[i].equals(o))
+            if (elements[i].equals(o)) {
+                countSearch(size - i);
                 return i;
+            }
         }
+        countSearch(size);
         return -1;
     }
 
@@ -326,24 +1077,738 @@ public class ArrayList<E> implements List<E> {
         Time complexity: O(n)
      */
     public Object[] toArray() {
+        closeGap();
         return Arrays.copyOf(elements, size);
     }
 
+    /**
+        Start counting operations on this list; the counters survive clear()
+        @return the live counters, which can be registered with JMX
+        Time complexity: O(1)
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null)
+            metrics = new ListMetrics("ArrayList");
+        return metrics;
+    }
+
+    /**
+        Stop counting operations and remove the counters from JMX if they were registered
+        Time complexity: O(1)
+     */
+    public void disableMetrics() {
+        if (metrics != null) {
+            metrics.unregister();
+            metrics = null;
+        }
+    }
+
+    /**
+        @return the live counters of this list, or null if metrics are disabled
+        Time complexity: O(1)
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+        Count one linear search
+        @param compared the number of elements the search compared
+        Time complexity: O(1)
+     */
+    private void countSearch(int compared) {
+        if (metrics != null) {
+            metrics.searches++;
+            metrics.elementsCompared += compared;
+        }
+    }
+
+    /**
+        Write the list to a channel in the binary format of ListFormat
+        Lists of only Integer, Long, Double or String use a compact encoding without tags;
+        other element types must be Serializable
+        @param channel the channel receiving the list, it is not closed
+        @throws IOException if the channel fails or an element cannot be serialized
+        Time complexity: O(n)
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        closeGap();
+        ListFormat.Writer writer = new ListFormat.Writer(channel, ListFormat.kindOf(iterator()), size);
+        for (int i = 0; i < size; i++)
+            writer.write(elements[i]);
+        writer.finish();
+    }
+
+    /**
+        Read a list written by writeTo; serialized elements are rejected
+        @param channel the channel supplying the list, it is not closed
+        @return a new list holding the elements that were written
+        @throws IOException if the channel fails, does not hold a list or holds a serialized element
+        Time complexity: O(n)
+     */
+    public static <E> ArrayList<E> readFrom(ReadableByteChannel channel) throws IOException {
+        return readFrom(channel, null);
+    }
+
+    /**
+        Read a list written by writeTo, deserializing the elements without their own encoding
+        through a filter. The array is pre-sized from the count in the header, but at most to
+        READ_PRESIZE elements, so a corrupt count cannot force a huge allocation
+        @param channel the channel supplying the list, it is not closed
+        @param filter the filter checking serialized elements, or null to reject them
+        @return a new list holding the elements that were written
+        @throws IOException if the channel fails, does not hold a list or the filter rejects an element
+        Time complexity: O(n)
+     */
+    public static <E> ArrayList<E> readFrom(ReadableByteChannel channel, ObjectInputFilter filter) throws IOException {
+        ListFormat.Reader reader = new ListFormat.Reader(channel, filter);
+        int count = reader.count();
+        ArrayList<E> list = new ArrayList<>(Math.min(count, READ_PRESIZE));
+        for (int i = 0; i < count; i++) {
+            list.ensureCapacity(i + 1);
+            list.elements[i] = (E) reader.next();
+            list.size = i + 1;
+        }
+        reader.finish();
+        return list;
+    }
+
     /**
         Sorts this list according to the order induced by the specified Comparator
+        The sort is a stable, adaptive merge sort: existing ascending and descending
+        runs are detected and merged, so nearly sorted input costs close to O(n)
         @param c the Comparator used to compare list elements
-        Time complexity: O(n^2)
+        Time complexity: O(n log n)
      */
     public void sort(Comparator<E> c) {
-        for (int i = 0; i < size - 1; i++) {
-            int minIndex = i;
-            for (int j = i + 1; j < size; j++) {
-                if (c.compare(elements[j], elements[minIndex]) < 0)
-                    minIndex = j;
+        closeGap();
+        modCount++;
+        long start = metrics != null ? System.nanoTime() : 0;
+        if (size >= 2) {
+            E[] tmp = size < MIN_MERGE ? null : (E[]) new Object[size];
+            mergeSort(elements, 0, size, c, tmp);
+        }
+        if (metrics != null) {
+            metrics.sorts++;
+            metrics.sortNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+        Sorts this list in parallel according to the order induced by the specified Comparator
+        Ranges above PARALLEL_THRESHOLD are split and sorted on the common fork/join pool,
+        then merged; the result is the same as sort(c), including stability
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n) work, O(n) span for the final merge
+     */
+    public void parallelSort(Comparator<E> c) {
+        closeGap();
+        modCount++;
+        if (size <= PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() == 1) {
+            sort(c);
+            return;
+        }
+        long start = metrics != null ? System.nanoTime() : 0;
+        E[] tmp = (E[]) new Object[size];
+        ForkJoinPool.commonPool().invoke(new SortTask<>(elements, tmp, 0, size, c));
+        if (metrics != null) {
+            metrics.sorts++;
+            metrics.sortNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        Ranges of the list are searched in parallel on the fork/join pool of the caller, or the
+        common pool; a match stops the search of every range after it, so the first match wins
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public int parallelIndexOf(Object o) {
+        closeGap();
+        if (!runsInParallel())
+            return indexOf(o);
+        int index = search(o, null, false);
+        countSearch(index < 0 ? size : index + 1);
+        return index;
+    }
+
+    /**
+        Returns true if this list contains the specified element
+        Ranges of the list are searched in parallel, and the first match found stops every range
+        @param o the element to search for
+        @return true if this list contains the specified element
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public boolean parallelContains(Object o) {
+        closeGap();
+        if (!runsInParallel())
+            return contains(o);
+        int index = search(o, null, true);
+        countSearch(index < 0 ? size : index + 1);
+        return index >= 0;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        Two ArrayLists are compared range by range in parallel, and the first mismatch found
+        stops every range; other lists are compared sequentially by equals
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public boolean parallelEquals(Object o) {
+        closeGap();
+        if (!(o instanceof ArrayList) || o == this || !runsInParallel())
+            return equals(o);
+        ArrayList<?> list = (ArrayList<?>) o;
+        list.closeGap();
+        if (list.size != size)
+            return false;
+        return search(null, list.elements, true) < 0;
+    }
+
+    /**
+        Count the elements of this list that satisfy a predicate, counting ranges in parallel
+        @param filter the predicate to test the elements with
+        @return the number of elements for which filter returns true
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public int count(Predicate<? super E> filter) {
+        closeGap();
+        if (!runsInParallel())
+            return new CountTask<>(elements, 0, size, filter, Integer.MAX_VALUE).compute();
+        return invoke(new CountTask<>(elements, 0, size, filter, parallelThreshold));
+    }
+
+    /**
+        Returns the first smallest element of this list, searching ranges in parallel
+        @param c the Comparator used to compare list elements
+        @return the first element that no other element is less than
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public E min(Comparator<? super E> c) {
+        closeGap();
+        if (size == 0)
+            throw new NoSuchElementException("min of an empty list");
+        if (!runsInParallel())
+            return new MinTask<>(elements, 0, size, c, Integer.MAX_VALUE).compute();
+        return invoke(new MinTask<>(elements, 0, size, c, parallelThreshold));
+    }
+
+    /**
+        Returns the first largest element of this list, searching ranges in parallel
+        @param c the Comparator used to compare list elements
+        @return the first element that no other element is greater than
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    public E max(Comparator<? super E> c) {
+        return min((x, y) -> c.compare(y, x));
+    }
+
+    /**
+        Set the length at or below which the parallel aggregate methods run sequentially;
+        it is also the length of the ranges that are scanned without being split further
+        @param threshold the new threshold, at least 1
+        @throws IllegalArgumentException if threshold is less than 1
+        Time complexity: O(1)
+     */
+    public void setParallelThreshold(int threshold) {
+        if (threshold < 1)
+            throw new IllegalArgumentException("Parallel threshold must be at least 1: " + threshold);
+        parallelThreshold = threshold;
+    }
+
+    /**
+        @return the length at or below which the parallel aggregate methods run sequentially
+        Time complexity: O(1)
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+        @return true if the list is long enough to split and more than one thread can run the ranges
+        Time complexity: O(1)
+     */
+    private boolean runsInParallel() {
+        int parallelism = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool().getParallelism()
+            : ForkJoinPool.getCommonPoolParallelism();
+        return size > parallelThreshold && parallelism > 1;
+    }
+
+    /**
+        Run a task in the fork/join pool of the calling thread, or in the common pool
+        Time complexity: that of the task
+     */
+    private static <T> T invoke(ForkJoinTask<T> task) {
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : ForkJoinPool.commonPool().invoke(task);
+    }
+
+    /**
+        Find an index of [0, size) holding the key, or where this list and other differ,
+        searching ranges in parallel
+        @param key the element to search for, used if other is null
+        @param other the elements to compare with, at least size long, or null
+        @param any true if any such index will do, false for the lowest one
+        @return an index that was found, or -1 if there is none
+        Time complexity: O(n) work, O(n / p) span on p threads
+     */
+    private int search(Object key, Object[] other, boolean any) {
+        AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+        invoke(new SearchTask(elements, key, other, 0, size, parallelThreshold, found, any));
+        int index = found.get();
+        return index == Integer.MAX_VALUE ? -1 : index;
+    }
+
+    // minimum length of a run; shorter runs are extended with binary insertion sort
+    private static final int MIN_MERGE = 32;
+    // number of consecutive wins by one run before a merge switches to galloping
+    private static final int MIN_GALLOP = 7;
+    // ranges at or below this length are sorted sequentially by parallelSort
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    /**
+        Inner class to sort one range of an array as a fork/join task
+     */
+    private static class SortTask<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final T[] tmp;
+        private final int lo, hi;
+        private final Comparator<? super T> c;
+
+        SortTask(T[] a, T[] tmp, int lo, int hi, Comparator<? super T> c) {
+            this.a = a;
+            this.tmp = tmp;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+        }
+
+        /**
+            Sort small ranges directly, otherwise sort both halves in parallel and merge them
+            Time complexity: O(n log n)
+         */
+        protected void compute() {
+            if (hi - lo <= PARALLEL_THRESHOLD) {
+                mergeSort(a, lo, hi, c, tmp);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<>(a, tmp, lo, mid, c), new SortTask<>(a, tmp, mid, hi, c));
+            mergeRuns(a, lo, mid - lo, mid, hi - mid, c, tmp);
+        }
+    }
+
+    /**
+        Inner class to search one range of indexes for a key, or for a mismatch with another
+        array, as a fork/join task; ranges that cannot improve on the index found so far are
+        skipped, and a running scan checks again before every CHECK_INTERVAL indexes
+     */
+    private static class SearchTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private static final int CHECK_INTERVAL = 1024;
+        private final Object[] a;
+        private final Object key;
+        private final Object[] other;
+        private final int lo, hi, threshold;
+        // lowest satisfying index found so far by any task, Integer.MAX_VALUE if none
+        private final AtomicInteger found;
+        private final boolean any;
+
+        SearchTask(Object[] a, Object key, Object[] other, int lo, int hi, int threshold,
+                   AtomicInteger found, boolean any) {
+            this.a = a;
+            this.key = key;
+            this.other = other;
+            this.lo = lo;
+            this.hi = hi;
+            this.threshold = threshold;
+            this.found = found;
+            this.any = any;
+        }
+
+        /**
+            Scan small ranges directly, otherwise search both halves in parallel
+            Time complexity: O(n)
+         */
+        protected void compute() {
+            if (skip(lo))
+                return;
+            if (hi - lo <= threshold) {
+                for (int from = lo; from < hi && !skip(from); from += CHECK_INTERVAL) {
+                    int i = scan(from, Math.min(hi, from + CHECK_INTERVAL));
+                    if (i >= 0) {
+                        int current = found.get();
+                        while (i < current && !found.compareAndSet(current, i))
+                            current = found.get();
+                        return;
+                    }
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SearchTask(a, key, other, lo, mid, threshold, found, any),
+                      new SearchTask(a, key, other, mid, hi, threshold, found, any));
+        }
+
+        /**
+            @return the first index of [from, to) holding the key, or where a and other differ, or -1
+            Time complexity: O(to - from)
+         */
+        private int scan(int from, int to) {
+            if (other == null) {
+                for (int i = from; i < to; i++) {
+                    if (a[i].equals(key))
+                        return i;
+                }
+            } else {
+                for (int i = from; i < to; i++) {
+                    if (!a[i].equals(other[i]))
+                        return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+            @return true if the indexes from index on cannot change the result
+            Time complexity: O(1)
+         */
+        private boolean skip(int index) {
+            int current = found.get();
+            return any ? current != Integer.MAX_VALUE : current <= index;
+        }
+    }
+
+    /**
+        Inner class to count the elements of one range that satisfy a predicate as a fork/join task
+     */
+    private static class CountTask<T> extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final int lo, hi, threshold;
+        private final Predicate<? super T> filter;
+
+        CountTask(T[] a, int lo, int hi, Predicate<? super T> filter, int threshold) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.filter = filter;
+            this.threshold = threshold;
+        }
+
+        /**
+            Count small ranges directly, otherwise count both halves in parallel and add them
+            Time complexity: O(n)
+         */
+        protected Integer compute() {
+            if (hi - lo <= threshold) {
+                int count = 0;
+                for (int i = lo; i < hi; i++) {
+                    if (filter.test(a[i]))
+                        count++;
+                }
+                return count;
             }
-            E temp = elements[i];
-            elements[i] = elements[minIndex];
-            elements[minIndex] = temp;
+            int mid = (lo + hi) >>> 1;
+            CountTask<T> right = new CountTask<>(a, mid, hi, filter, threshold);
+            right.fork();
+            int left = new CountTask<>(a, lo, mid, filter, threshold).compute();
+            return left + right.join();
+        }
+    }
+
+    /**
+        Inner class to find the first smallest element of one non-empty range as a fork/join task
+     */
+    private static class MinTask<T> extends RecursiveTask<T> {
+        private static final long serialVersionUID = 1L;
+        private final T[] a;
+        private final int lo, hi, threshold;
+        private final Comparator<? super T> c;
+
+        MinTask(T[] a, int lo, int hi, Comparator<? super T> c, int threshold) {
+            this.a = a;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+            this.threshold = threshold;
+        }
+
+        /**
+            Scan small ranges directly, otherwise search both halves in parallel; the left
+            result wins ties so the first smallest element is returned
+            Time complexity: O(n)
+         */
+        protected T compute() {
+            if (hi - lo <= threshold) {
+                T min = a[lo];
+                for (int i = lo + 1; i < hi; i++) {
+                    if (c.compare(a[i], min) < 0)
+                        min = a[i];
+                }
+                return min;
+            }
+            int mid = (lo + hi) >>> 1;
+            MinTask<T> right = new MinTask<>(a, mid, hi, c, threshold);
+            right.fork();
+            T left = new MinTask<>(a, lo, mid, c, threshold).compute();
+            T other = right.join();
+            return c.compare(other, left) < 0 ? other : left;
+        }
+    }
+
+    /**
+        Stable natural merge sort of a[lo, hi)
+        @param a the array to sort
+        @param lo index of the first element to sort
+        @param hi index after the last element to sort
+        @param c the Comparator used to compare elements
+        @param tmp scratch array at least hi elements long, or null if hi - lo < MIN_MERGE
+        Time complexity: O(n log n)
+     */
+    private static <T> void mergeSort(T[] a, int lo, int hi, Comparator<? super T> c, T[] tmp) {
+        int remaining = hi - lo;
+        if (remaining < 2)
+            return;
+        if (remaining < MIN_MERGE) {
+            int runLen = countRunAndMakeAscending(a, lo, hi, c);
+            binarySort(a, lo, hi, lo + runLen, c);
+            return;
+        }
+        // stack of pending runs, merged so that run lengths decrease at least as fast as Fibonacci numbers
+        int[] runBase = new int[49];
+        int[] runLen = new int[49];
+        int stackSize = 0;
+        int minRun = minRunLength(remaining);
+        do {
+            int len = countRunAndMakeAscending(a, lo, hi, c);
+            if (len < minRun) {
+                int force = Math.min(remaining, minRun);
+                binarySort(a, lo, lo + force, lo + len, c);
+                len = force;
+            }
+            runBase[stackSize] = lo;
+            runLen[stackSize] = len;
+            stackSize++;
+            stackSize = mergeCollapse(a, runBase, runLen, stackSize, c, tmp);
+            lo += len;
+            remaining -= len;
+        } while (remaining != 0);
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLen[n - 1] < runLen[n + 1])
+                n--;
+            stackSize = mergeAt(a, runBase, runLen, stackSize, n, c, tmp);
+        }
+    }
+
+    /**
+        Merge pending runs until the run length invariants hold again
+        @return the new number of pending runs
+        Time complexity: O(n) per merge performed
+     */
+    private static <T> int mergeCollapse(T[] a, int[] runBase, int[] runLen, int stackSize,
+                                         Comparator<? super T> c, T[] tmp) {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if ((n > 0 && runLen[n - 1] <= runLen[n] + runLen[n + 1])
+                    || (n > 1 && runLen[n - 2] <= runLen[n - 1] + runLen[n])) {
+                if (runLen[n - 1] < runLen[n + 1])
+                    n--;
+            } else if (runLen[n] > runLen[n + 1]) {
+                break;
+            }
+            stackSize = mergeAt(a, runBase, runLen, stackSize, n, c, tmp);
+        }
+        return stackSize;
+    }
+
+    /**
+        Merge the pending runs at stack positions i and i + 1
+        @return the new number of pending runs
+        Time complexity: O(n)
+     */
+    private static <T> int mergeAt(T[] a, int[] runBase, int[] runLen, int stackSize, int i,
+                                   Comparator<? super T> c, T[] tmp) {
+        mergeRuns(a, runBase[i], runLen[i], runBase[i + 1], runLen[i + 1], c, tmp);
+        runLen[i] += runLen[i + 1];
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLen[i + 1] = runLen[i + 2];
+        }
+        return stackSize - 1;
+    }
+
+    /**
+        Stable merge of the adjacent sorted runs a[base1, base1 + len1) and a[base2, base2 + len2)
+        Elements already in their final place at either end are skipped by galloping, and the
+        merge switches to galloping whenever one run wins MIN_GALLOP times in a row
+        @param tmp scratch array; the first run is copied to tmp[base1, base1 + len1)
+        Time complexity: O(n)
+     */
+    private static <T> void mergeRuns(T[] a, int base1, int len1, int base2, int len2,
+                                      Comparator<? super T> c, T[] tmp) {
+        // elements of run 1 that are <= the first element of run 2 are already in place
+        int k = gallopRight(a[base2], a, base1, len1, c);
+        base1 += k;
+        len1 -= k;
+        if (len1 == 0)
+            return;
+        // elements of run 2 that are >= the last element of run 1 are already in place
+        len2 = gallopLeft(a[base1 + len1 - 1], a, base2, len2, c);
+        if (len2 == 0)
+            return;
+
+        System.arraycopy(a, base1, tmp, base1, len1);
+        int cursor1 = base1;
+        int end1 = base1 + len1;
+        int cursor2 = base2;
+        int end2 = base2 + len2;
+        int dest = base1;
+        int count1 = 0;
+        int count2 = 0;
+        while (cursor1 < end1 && cursor2 < end2) {
+            if (count1 >= MIN_GALLOP) {
+                int n = gallopRight(a[cursor2], tmp, cursor1, end1 - cursor1, c);
+                System.arraycopy(tmp, cursor1, a, dest, n);
+                dest += n;
+                cursor1 += n;
+                count1 = 0;
+            } else if (count2 >= MIN_GALLOP) {
+                int n = gallopLeft(tmp[cursor1], a, cursor2, end2 - cursor2, c);
+                System.arraycopy(a, cursor2, a, dest, n);
+                dest += n;
+                cursor2 += n;
+                count2 = 0;
+            } else if (c.compare(a[cursor2], tmp[cursor1]) < 0) {
+                a[dest++] = a[cursor2++];
+                count2++;
+                count1 = 0;
+            } else {
+                a[dest++] = tmp[cursor1++];
+                count1++;
+                count2 = 0;
+            }
+        }
+        // any remaining run 2 elements are already in place
+        if (cursor1 < end1)
+            System.arraycopy(tmp, cursor1, a, dest, end1 - cursor1);
+    }
+
+    /**
+        Count the elements of a[base, base + len) that are less than or equal to key
+        Uses exponential search followed by binary search
+        Time complexity: O(log k) where k is the result
+     */
+    private static <T> int gallopRight(T key, T[] a, int base, int len, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        while (ofs < len && c.compare(key, a[base + ofs - 1]) >= 0) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0)
+                ofs = len;
+        }
+        int lo = lastOfs;
+        int hi = Math.min(ofs, len);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(key, a[base + mid]) >= 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+        Count the elements of a[base, base + len) that are strictly less than key
+        Uses exponential search followed by binary search
+        Time complexity: O(log k) where k is the result
+     */
+    private static <T> int gallopLeft(T key, T[] a, int base, int len, Comparator<? super T> c) {
+        int lastOfs = 0;
+        int ofs = 1;
+        while (ofs < len && c.compare(key, a[base + ofs - 1]) > 0) {
+            lastOfs = ofs;
+            ofs = (ofs << 1) + 1;
+            if (ofs <= 0)
+                ofs = len;
+        }
+        int lo = lastOfs;
+        int hi = Math.min(ofs, len);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(key, a[base + mid]) > 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+        Find the length of the run starting at a[lo], reversing it if it is strictly descending
+        @return the length of the run
+        Time complexity: O(k) where k is the length of the run
+     */
+    private static <T> int countRunAndMakeAscending(T[] a, int lo, int hi, Comparator<? super T> c) {
+        int runHi = lo + 1;
+        if (runHi == hi)
+            return 1;
+        if (c.compare(a[runHi++], a[lo]) < 0) {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) < 0)
+                runHi++;
+            for (int i = lo, j = runHi - 1; i < j; i++, j--) {
+                T t = a[i];
+                a[i] = a[j];
+                a[j] = t;
+            }
+        } else {
+            while (runHi < hi && c.compare(a[runHi], a[runHi - 1]) >= 0)
+                runHi++;
+        }
+        return runHi - lo;
+    }
+
+    /**
+        Binary insertion sort of a[lo, hi) where a[lo, start) is already sorted
+        Time complexity: O(n log n) comparisons, O(n^2) moves for short ranges
+     */
+    private static <T> void binarySort(T[] a, int lo, int hi, int start, Comparator<? super T> c) {
+        for (; start < hi; start++) {
+            T pivot = a[start];
+            int left = lo;
+            int right = start;
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+                if (c.compare(pivot, a[mid]) < 0)
+                    right = mid;
+                else
+                    left = mid + 1;
+            }
+            System.arraycopy(a, left, a, left + 1, start - left);
+            a[left] = pivot;
+        }
+    }
+
+    /**
+        Minimum run length for a range of n elements, chosen so that n / minRun is
+        close to, but not more than, a power of two
+        Time complexity: O(log n)
+     */
+    private static int minRunLength(int n) {
+        int r = 0;
+        while (n >= MIN_MERGE) {
+            r |= (n & 1);
+            n >>= 1;
         }
+        return n + r;
     }
-}
\ No newline at end of file
+}
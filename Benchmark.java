@@ -0,0 +1,681 @@
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Micro-benchmarks for the List implementations against java.util.ArrayList and java.util.LinkedList.
+ * Every operation is measured for each list size, element type and access pattern, and reported
+ * as the best average time per operation over several timed batches, together with the bytes
+ * allocated per operation by the benchmark thread.
+ *
+ * Usage: java Benchmark [size ...] [op=name,...] [impl=name,...] [type=Integer|String] [cores=n,...]
+ *        [threads=n,...]
+ * The default sizes are 10, 1000 and 100000; pass 10000000 explicitly for the largest runs.
+ * ArrayList+parallel runs indexOf, contains, equals, count and max through the parallel aggregate
+ * methods in a fork/join pool of each given size (default 1 and all processors), which gives the
+ * speedup curve by core count. SortedArrayList skips add(int,E) and set, which it does not support.
+ * op=pushPoll runs only when named: for each thread count n (default 1, 2, 4, 8, 16 and 32), n
+ * producers push size values each at alternating ends of a concurrent deque while n consumers poll
+ * alternating ends, and the wall time per push or poll is reported, which gives the throughput
+ * curve by thread count.
+ * All implementations share the same call sites, so for numbers free of JIT profile pollution
+ * run one implementation per JVM with impl=.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class Benchmark {
+    // operations that take an index or a value chosen by an access pattern
+    private static final String[] PATTERNS = {"sequential", "random", "front", "back"};
+    private static final String[] OPS = {"add", "add(int,E)", "get", "set", "remove(int)", "remove(Object)",
+        "indexOf", "contains", "sort", "toArray", "addAll", "equals", "iterate", "count", "max"};
+    // a batch is grown until it runs for at least this long
+    private static final long TARGET_NANOS = 20_000_000L;
+    private static final int WARMUP_BATCHES = 3;
+    private static final int TIMED_BATCHES = 5;
+    // threaded producer/consumer operation and the deques it measures
+    private static final String PUSH_POLL = "pushPoll";
+    private static final String[] DEQUES = {"ConcurrentLinkedDeque", "java.util.concurrent.ConcurrentLinkedDeque"};
+
+    // sink for results so the JIT cannot drop the measured work
+    private static long blackhole;
+    // bytes allocated during the timed part of the last batch, -1 if the JVM does not report it
+    private static long lastAllocated;
+    // values 0 to size - 1 stored in the lists, and equal copies used as search keys
+    private static Object[] elements;
+    private static Object[] probes;
+
+    /**
+     * Runs the benchmarks selected by the command line arguments and prints one line per measurement.
+     *
+     * @param args list sizes and optional op=, impl= and type= filters
+     */
+    public static void main(String[] args) {
+        int[] sizes = {10, 1000, 100000};
+        String opFilter = null;
+        String implFilter = null;
+        String[] types = {"Integer", "String"};
+        String[] cores = {"1", String.valueOf(Runtime.getRuntime().availableProcessors())};
+        String[] threads = {"1", "2", "4", "8", "16", "32"};
+        int count = 0;
+        int[] given = new int[args.length];
+        for (String arg : args) {
+            if (arg.startsWith("op="))
+                opFilter = "," + arg.substring(3) + ",";
+            else if (arg.startsWith("impl="))
+                implFilter = "," + arg.substring(5) + ",";
+            else if (arg.startsWith("type="))
+                types = new String[] {arg.substring(5)};
+            else if (arg.startsWith("cores="))
+                cores = arg.substring(6).split(",");
+            else if (arg.startsWith("threads="))
+                threads = arg.substring(8).split(",");
+            else
+                given[count++] = Integer.parseInt(arg);
+        }
+        if (count > 0) {
+            sizes = new int[count];
+            System.arraycopy(given, 0, sizes, 0, count);
+        }
+        java.util.List<String> impls = new java.util.ArrayList<>();
+        for (String impl : IMPLS) {
+            if (impl.equals("ArrayList+parallel")) {
+                for (String n : cores) {
+                    if (!impls.contains(impl + "/" + n))
+                        impls.add(impl + "/" + n);
+                }
+            } else {
+                impls.add(impl);
+            }
+        }
+
+        System.out.printf("%-15s %-11s %-8s %9s %-22s %14s %12s%n",
+            "op", "pattern", "type", "size", "impl", "ns/op", "B/op");
+        for (String type : types) {
+            for (int size : sizes) {
+                for (String op : OPS) {
+                    if (opFilter != null && !opFilter.contains("," + op + ","))
+                        continue;
+                    String[] patterns = usesPattern(op) ? PATTERNS : new String[] {"-"};
+                    for (String pattern : patterns) {
+                        for (String impl : impls) {
+                            String name = impl.split("/")[0];
+                            if (implFilter != null && !implFilter.contains("," + name + ",")
+                                    && !implFilter.contains("," + impl + ","))
+                                continue;
+                            if (!supports(name, op))
+                                continue;
+                            double[] result = run(impl, op, pattern, type, size);
+                            System.out.printf("%-15s %-11s %-8s %9d %-22s %14.1f %12s%n", op, pattern, type, size,
+                                impl, result[0], result[1] < 0 ? "n/a" : String.format("%.1f", result[1]));
+                        }
+                    }
+                }
+            }
+        }
+        if (opFilter != null && opFilter.contains("," + PUSH_POLL + ",")) {
+            for (int size : sizes) {
+                for (String impl : DEQUES) {
+                    if (implFilter != null && !implFilter.contains("," + impl + ","))
+                        continue;
+                    for (String n : threads) {
+                        double result = runPushPoll(impl, Integer.parseInt(n), size);
+                        System.out.printf("%-15s %-11s %-8s %9d %-22s %14.1f %12s%n", PUSH_POLL, "-", "Integer", size,
+                            impl + "/" + n, result, "n/a");
+                    }
+                }
+            }
+        }
+        if (blackhole == 42)
+            System.out.println();
+    }
+
+    /**
+     * @param op the name of an operation
+     * @return true if the operation uses an access pattern
+     */
+    private static boolean usesPattern(String op) {
+        return op.equals("add(int,E)") || op.equals("get") || op.equals("set") || op.equals("remove(int)")
+            || op.equals("remove(Object)") || op.equals("indexOf") || op.equals("contains");
+    }
+
+    /**
+     * @param impl the name of an implementation
+     * @param op the name of an operation
+     * @return false if the implementation rejects the operation, as SortedArrayList rejects
+     *         insertion and replacement at an index
+     */
+    private static boolean supports(String impl, String op) {
+        return !impl.equals("SortedArrayList") || !(op.equals("add(int,E)") || op.equals("set"));
+    }
+
+    /**
+     * Measures one operation, growing the batch until it runs for TARGET_NANOS, then keeping the
+     * best of TIMED_BATCHES batches after WARMUP_BATCHES warmup batches.
+     *
+     * @return the time per operation in nanoseconds and the bytes allocated per operation, or -1 if unknown
+     */
+    private static double[] run(String impl, String op, String pattern, String type, int size) {
+        boolean mutates = op.equals("add") || op.equals("add(int,E)") || op.equals("remove(int)")
+            || op.equals("remove(Object)") || op.equals("sort") || op.equals("addAll");
+        // removals cannot run more operations than there are elements, and only one sort sees unsorted data
+        int maxOps = op.startsWith("remove") ? Math.max(1, size / 2) : op.equals("sort") ? 1 : 1 << 22;
+        int ops = 1;
+        makeValues(type, size);
+        Target list = fill(impl, type, size, false);
+        Target other = fill(impl, type, size, false);
+        while (true) {
+            long t = timeBatch(list, other, op, pattern, type, size, ops, mutates, impl);
+            if (t >= TARGET_NANOS || ops >= maxOps)
+                break;
+            ops = (int) Math.min(maxOps, Math.max(ops * 2L, ops * (TARGET_NANOS / Math.max(t, 1))));
+        }
+        for (int i = 0; i < WARMUP_BATCHES; i++)
+            timeBatch(list, other, op, pattern, type, size, ops, mutates, impl);
+        double best = Double.MAX_VALUE;
+        long allocated = -1;
+        for (int i = 0; i < TIMED_BATCHES; i++) {
+            long t = timeBatch(list, other, op, pattern, type, size, ops, mutates, impl);
+            best = Math.min(best, (double) t / ops);
+            if (lastAllocated >= 0)
+                allocated = (allocated < 0) ? lastAllocated : Math.min(allocated, lastAllocated);
+        }
+        return new double[] {best, allocated < 0 ? -1 : (double) allocated / ops};
+    }
+
+    /**
+     * Times ops operations of one kind. Mutating operations start from a freshly filled list,
+     * which is built before the clock starts. The bytes allocated while the clock runs are
+     * stored in lastAllocated.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long timeBatch(Target list, Target other, String op, String pattern, String type,
+                                  int size, int ops, boolean mutates, String impl) {
+        Random random = new Random(17);
+        if (mutates)
+            list = op.equals("addAll") ? null : fill(impl, type, size, op.equals("sort"));
+        Object probe = probes[size / 2];
+        long sum = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        switch (op) {
+            case "add":
+                for (int i = 0; i < ops; i++)
+                    list.add(probe);
+                break;
+            case "add(int,E)":
+                for (int i = 0; i < ops; i++)
+                    list.add(index(pattern, i, list.size() + 1, random), probe);
+                break;
+            case "get":
+                for (int i = 0; i < ops; i++)
+                    sum += list.get(index(pattern, i, size, random)).hashCode();
+                break;
+            case "set":
+                for (int i = 0; i < ops; i++)
+                    list.set(index(pattern, i, size, random), probe);
+                break;
+            case "remove(int)":
+                for (int i = 0; i < ops; i++)
+                    sum += list.remove(index(pattern, i, list.size(), random)).hashCode();
+                break;
+            case "remove(Object)":
+                // values are stored in order, so the i-th front removal targets value i
+                for (int i = 0; i < ops; i++) {
+                    int k = pattern.equals("front") || pattern.equals("sequential") ? i
+                        : pattern.equals("back") ? size - 1 - i : random.nextInt(size);
+                    sum += list.remove(probes[k]) ? 1 : 0;
+                }
+                break;
+            case "indexOf":
+                for (int i = 0; i < ops; i++)
+                    sum += list.indexOf(probes[index(pattern, i, size, random)]);
+                break;
+            case "contains":
+                for (int i = 0; i < ops; i++)
+                    sum += list.contains(probes[index(pattern, i, size, random)]) ? 1 : 0;
+                break;
+            case "sort":
+                for (int i = 0; i < ops; i++)
+                    list.sort(ORDER);
+                break;
+            case "toArray":
+                for (int i = 0; i < ops; i++)
+                    sum += list.toArray().length;
+                break;
+            case "addAll":
+                for (int i = 0; i < ops; i++) {
+                    Target target = make(impl);
+                    target.addAll(other);
+                    sum += target.size();
+                }
+                break;
+            case "equals":
+                for (int i = 0; i < ops; i++)
+                    sum += list.equalsTarget(other) ? 1 : 0;
+                break;
+            case "iterate":
+                for (int i = 0; i < ops; i++)
+                    sum += list.iterate();
+                break;
+            case "count":
+                for (int i = 0; i < ops; i++)
+                    sum += list.count(EVEN_HASH);
+                break;
+            case "max":
+                for (int i = 0; i < ops; i++)
+                    sum += list.max(ORDER).hashCode();
+                break;
+            default:
+                throw new IllegalArgumentException(op);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        lastAllocated = (allocatedBefore < 0) ? -1 : allocatedAfter - allocatedBefore;
+        blackhole += sum;
+        return elapsed;
+    }
+
+    /**
+     * @return the index used by the i-th operation of an access pattern on a list of length bound
+     */
+    private static int index(String pattern, int i, int bound, Random random) {
+        if (bound <= 0)
+            return 0;
+        switch (pattern) {
+            case "sequential":
+                return i % bound;
+            case "random":
+                return random.nextInt(bound);
+            case "front":
+                return 0;
+            default:
+                return bound - 1;
+        }
+    }
+
+    /**
+     * Create the elements stored in the lists and equal copies used as search keys. String keys
+     * are distinct objects, so lookups compare characters rather than hitting the identity
+     * shortcut of String.equals; Integer.equals has no such shortcut and always compares values
+     */
+    private static void makeValues(String type, int size) {
+        elements = new Object[Math.max(size, 1)];
+        probes = new Object[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            if (type.equals("String")) {
+                elements[i] = "element-" + i;
+                probes[i] = new String("element-" + i);
+            } else {
+                elements[i] = Integer.valueOf(i);
+                probes[i] = Integer.valueOf(i);
+            }
+        }
+    }
+
+    // natural ordering of Integer or String elements
+    private static final Comparator<Object> ORDER = (a, b) -> ((Comparable<Object>) a).compareTo(b);
+    // filter counted by the count benchmark, true for about half of the elements
+    private static final Predicate<Object> EVEN_HASH = e -> (e.hashCode() & 1) == 0;
+
+    /**
+     * @return a list of the given implementation holding the values 0 to size - 1, in order or shuffled
+     */
+    private static Target fill(String impl, String type, int size, boolean shuffled) {
+        Target list = make(impl);
+        Random random = new Random(size);
+        Object[] values = new Object[size];
+        for (int i = 0; i < size; i++)
+            values[i] = elements[i];
+        for (int i = shuffled ? size - 1 : 0; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Object t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+        for (Object v : values)
+            list.add(v);
+        return list;
+    }
+
+    /**
+     * @return the bytes allocated so far by the current thread, or -1 if the JVM does not report it
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    // names of the benchmarked implementations, in report order; the +metrics variants count every
+    // operation, while the plain ones pay only the check that finds metrics disabled,
+    // ArrayList+parallel is reported once per pool size as ArrayList+parallel/n, and
+    // SortedArrayList answers indexOf, contains and remove(Object) by binary search, and
+    // CopyOnWriteArrayList copies its array on every write, so its mutating ops are O(n) each
+    private static final String[] IMPLS = {"ArrayList", "LinkedList", "CircularArrayList", "UnrolledLinkedList",
+        "java.util.ArrayList", "java.util.LinkedList", "ArrayList+metrics", "LinkedList+metrics",
+        "ArrayList+parallel", "SortedArrayList", "CopyOnWriteArrayList"};
+
+    /**
+     * @return a new empty list of the named implementation
+     */
+    private static Target make(String impl) {
+        if (impl.startsWith("ArrayList+parallel/"))
+            return new ParallelTarget(Integer.parseInt(impl.substring(impl.indexOf('/') + 1)));
+        switch (impl) {
+            case "ArrayList":
+                return new OurTarget(ArrayList::new);
+            case "LinkedList":
+                return new OurTarget(LinkedList::new);
+            case "CircularArrayList":
+                return new OurTarget(CircularArrayList::new);
+            case "UnrolledLinkedList":
+                return new OurTarget(UnrolledLinkedList::new);
+            case "java.util.ArrayList":
+                return new JdkTarget(new java.util.ArrayList<>());
+            case "java.util.LinkedList":
+                return new JdkTarget(new java.util.LinkedList<>());
+            case "SortedArrayList":
+                return new OurTarget(() -> new SortedArrayList<>(ORDER));
+            case "CopyOnWriteArrayList":
+                return new OurTarget(CopyOnWriteArrayList::new);
+            case "ArrayList+metrics":
+                return new OurTarget(() -> {
+                    ArrayList<Object> list = new ArrayList<>();
+                    list.enableMetrics();
+                    return list;
+                });
+            case "LinkedList+metrics":
+                return new OurTarget(() -> {
+                    LinkedList<Object> list = new LinkedList<>();
+                    list.enableMetrics();
+                    return list;
+                });
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+    }
+
+    /**
+     * Measures n producers against n consumers on a fresh deque, keeping the best of TIMED_BATCHES
+     * runs after WARMUP_BATCHES warmup runs.
+     *
+     * @param impl the name of a deque in DEQUES
+     * @param n the number of producer threads and of consumer threads
+     * @param size the number of values pushed by each producer
+     * @return the wall time per push or poll in nanoseconds
+     */
+    private static double runPushPoll(String impl, int n, int size) {
+        makeValues("Integer", size);
+        for (int i = 0; i < WARMUP_BATCHES; i++)
+            timePushPoll(makeEnds(impl), n, size);
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i < TIMED_BATCHES; i++)
+            best = Math.min(best, (double) timePushPoll(makeEnds(impl), n, size) / (2L * n * size));
+        return best;
+    }
+
+    /**
+     * Starts n producers that push size values each, alternating between the tail and the head,
+     * and n consumers that poll alternating ends until each has taken size values. The clock
+     * runs from the release of the started threads until the last one finishes.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long timePushPoll(Ends deque, int n, int size) {
+        CountDownLatch start = new CountDownLatch(1);
+        long[] sums = new long[n];
+        Thread[] workers = new Thread[2 * n];
+        for (int t = 0; t < n; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                await(start);
+                for (int i = 0; i < size; i++)
+                    deque.push((i & 1) == 0, elements[i]);
+            });
+            workers[n + t] = new Thread(() -> {
+                await(start);
+                long sum = 0;
+                for (int taken = 0; taken < size;) {
+                    Object e = deque.poll((taken & 1) == 0);
+                    if (e == null) {
+                        Thread.yield();
+                    } else {
+                        sum += e.hashCode();
+                        taken++;
+                    }
+                }
+                sums[id] = sum;
+            });
+        }
+        for (Thread worker : workers)
+            worker.start();
+        long start0 = System.nanoTime();
+        start.countDown();
+        try {
+            for (Thread worker : workers)
+                worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start0;
+        for (long sum : sums)
+            blackhole += sum;
+        return elapsed;
+    }
+
+    /**
+     * Waits for the start signal of a threaded run
+     */
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return a new empty deque of the named implementation
+     */
+    private static Ends makeEnds(String impl) {
+        switch (impl) {
+            case "ConcurrentLinkedDeque": {
+                ConcurrentLinkedDeque<Object> deque = new ConcurrentLinkedDeque<>();
+                return new Ends() {
+                    public void push(boolean tail, Object e) {
+                        if (tail)
+                            deque.addLast(e);
+                        else
+                            deque.addFirst(e);
+                    }
+
+                    public Object poll(boolean head) { return head ? deque.pollFirst() : deque.pollLast(); }
+                };
+            }
+            case "java.util.concurrent.ConcurrentLinkedDeque": {
+                java.util.concurrent.ConcurrentLinkedDeque<Object> deque = new java.util.concurrent.ConcurrentLinkedDeque<>();
+                return new Ends() {
+                    public void push(boolean tail, Object e) {
+                        if (tail)
+                            deque.addLast(e);
+                        else
+                            deque.addFirst(e);
+                    }
+
+                    public Object poll(boolean head) { return head ? deque.pollFirst() : deque.pollLast(); }
+                };
+            }
+            default:
+                throw new IllegalArgumentException(impl);
+        }
+    }
+
+    /**
+     * Common view of our deque and the java.util.concurrent deque used by the pushPoll benchmark
+     */
+    private interface Ends {
+        void push(boolean tail, Object e);
+        Object poll(boolean head);
+    }
+
+    /**
+     * Common view of our lists and the java.util lists used by the benchmarks
+     */
+    private interface Target {
+        void add(Object e);
+        void add(int index, Object e);
+        Object get(int index);
+        Object set(int index, Object e);
+        Object remove(int index);
+        boolean remove(Object o);
+        int indexOf(Object o);
+        boolean contains(Object o);
+        void sort(Comparator<Object> c);
+        Object[] toArray();
+        void addAll(Target source);
+        boolean equalsTarget(Target other);
+        long iterate();
+        int count(Predicate<Object> filter);
+        Object max(Comparator<Object> c);
+        int size();
+    }
+
+    /**
+     * Target backed by one of the List implementations in this project
+     */
+    private static class OurTarget implements Target {
+        private final List<Object> list;
+
+        OurTarget(Supplier<List<Object>> factory) {
+            list = factory.get();
+        }
+
+        public void add(Object e) { list.add(e); }
+        public void add(int index, Object e) { list.add(index, e); }
+        public Object get(int index) { return list.get(index); }
+        public Object set(int index, Object e) { return list.set(index, e); }
+        public Object remove(int index) { return list.remove(index); }
+        public boolean remove(Object o) { return list.remove(o); }
+        public int indexOf(Object o) { return list.indexOf(o); }
+        public boolean contains(Object o) { return list.contains(o); }
+        public void sort(Comparator<Object> c) { list.sort(c); }
+        public Object[] toArray() { return list.toArray(); }
+        public void addAll(Target source) { list.addAll(((OurTarget) source).list); }
+        public boolean equalsTarget(Target other) { return list.equals(((OurTarget) other).list); }
+        public int size() { return list.size(); }
+
+        public long iterate() {
+            long sum = 0;
+            for (Iterator<Object> it = list.iterator(); it.hasNext();)
+                sum += it.next().hashCode();
+            return sum;
+        }
+
+        public int count(Predicate<Object> filter) {
+            int count = 0;
+            for (Iterator<Object> it = list.iterator(); it.hasNext();) {
+                if (filter.test(it.next()))
+                    count++;
+            }
+            return count;
+        }
+
+        public Object max(Comparator<Object> c) {
+            Iterator<Object> it = list.iterator();
+            Object max = it.next();
+            while (it.hasNext()) {
+                Object e = it.next();
+                if (c.compare(e, max) > 0)
+                    max = e;
+            }
+            return max;
+        }
+    }
+
+    // fork/join pools of the ArrayList+parallel targets, by parallelism
+    private static final java.util.Map<Integer, ForkJoinPool> POOLS = new java.util.HashMap<>();
+
+    /**
+     * Target backed by our ArrayList whose queries run through the parallel aggregate methods
+     * inside a fork/join pool with a fixed number of threads
+     */
+    private static class ParallelTarget extends OurTarget {
+        private final ArrayList<Object> parallel;
+        private final ForkJoinPool pool;
+
+        ParallelTarget(int cores) {
+            super(ArrayList::new);
+            parallel = (ArrayList<Object>) ((OurTarget) this).list;
+            pool = POOLS.computeIfAbsent(cores, ForkJoinPool::new);
+        }
+
+        public int indexOf(Object o) { return pool.submit(() -> parallel.parallelIndexOf(o)).join(); }
+        public boolean contains(Object o) { return pool.submit(() -> parallel.parallelContains(o)).join(); }
+        public int count(Predicate<Object> filter) { return pool.submit(() -> parallel.count(filter)).join(); }
+        public Object max(Comparator<Object> c) { return pool.submit(() -> parallel.max(c)).join(); }
+
+        public boolean equalsTarget(Target other) {
+            Object list = ((OurTarget) other).list;
+            return pool.submit(() -> parallel.parallelEquals(list)).join();
+        }
+    }
+
+    /**
+     * Target backed by a java.util list
+     */
+    private static class JdkTarget implements Target {
+        private final java.util.List<Object> list;
+
+        JdkTarget(java.util.List<Object> list) {
+            this.list = list;
+        }
+
+        public void add(Object e) { list.add(e); }
+        public void add(int index, Object e) { list.add(index, e); }
+        public Object get(int index) { return list.get(index); }
+        public Object set(int index, Object e) { return list.set(index, e); }
+        public Object remove(int index) { return list.remove(index); }
+        public boolean remove(Object o) { return list.remove(o); }
+        public int indexOf(Object o) { return list.indexOf(o); }
+        public boolean contains(Object o) { return list.contains(o); }
+        public void sort(Comparator<Object> c) { list.sort(c); }
+        public Object[] toArray() { return list.toArray(); }
+        public void addAll(Target source) { list.addAll(((JdkTarget) source).list); }
+        public boolean equalsTarget(Target other) { return list.equals(((JdkTarget) other).list); }
+        public int size() { return list.size(); }
+
+        public long iterate() {
+            long sum = 0;
+            for (Object o : list)
+                sum += o.hashCode();
+            return sum;
+        }
+
+        public int count(Predicate<Object> filter) {
+            int count = 0;
+            for (Object o : list) {
+                if (filter.test(o))
+                    count++;
+            }
+            return count;
+        }
+
+        public Object max(Comparator<Object> c) {
+            Object max = list.get(0);
+            for (Object o : list) {
+                if (c.compare(o, max) > 0)
+                    max = o;
+            }
+            return max;
+        }
+    }
+}
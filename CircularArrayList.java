@@ -0,0 +1,512 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Generic class to implement an array-based list stored in a circular buffer
+ * The list starts at position 'head' of the array and wraps around its end, so
+ * elements can be added or removed at either end in O(1) while get(i) stays O(1).
+ * Inserts and removes in the middle shift only the shorter side of the list.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class CircularArrayList<E> implements List<E> {
+    // data member: array for the list elements, its length is always a power of two
+    private E[] elements;
+    // data member: position of the first element in the array
+    private int head;
+    // data member: size of the list
+    private int size;
+    // data member: number of structural modifications, checked by iterators
+    private int modCount;
+
+    /**
+        Default constructor creates the array with a default length of 16 and sets size to 0
+        Time complexity: O(1)
+    */
+    public CircularArrayList() {
+        this(16);
+    }
+
+    /**
+        Constructor with one parameter creates the array with a length of at least capacity and sets size to 0
+        @param capacity minimum length of the array elements
+        Time complexity: O(1)
+    */
+    public CircularArrayList(int capacity) {
+        int length = 1;
+        while (length < capacity)
+            length <<= 1;
+        elements = (E[]) new Object[length];
+        head = 0;
+        size = 0;
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list by setting size to 0
+        Time complexity: O(n)
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++)
+            elements[physicalIndex(i)] = null;
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(1) or O(n) if the array capacity needs to grow
+    */
+    public boolean add(E item) {
+        return addLast(item);
+    }
+
+    /**
+        Method to add a new item at the front of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(1) or O(n) if the array capacity needs to grow
+    */
+    public boolean addFirst(E item) {
+        ensureCapacity(size + 1);
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(1) or O(n) if the array capacity needs to grow
+    */
+    public boolean addLast(E item) {
+        ensureCapacity(size + 1);
+        elements[physicalIndex(size)] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Method to add a new item at a given position index
+        Elements before index move one slot towards the front when index is in
+        the first half of the list, otherwise elements from index move towards the end
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(min(index, size - index))
+    */
+    public void add(int index, E item) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        ensureCapacity(size + 1);
+        int mask = elements.length - 1;
+        if (index < (size >> 1)) {
+            head = (head - 1) & mask;
+            for (int i = 0; i < index; i++)
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+        } else {
+            for (int i = size; i > index; i--)
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+        }
+        elements[(head + index) & mask] = item;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Linear search method
+     * @param o the object being searched
+     * @return true if o was found in this list, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        return elements[physicalIndex(index)];
+    }
+
+    /**
+        Get the value of the first element
+        @return the value of the first element
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(1)
+     */
+    public E getFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return elements[head];
+    }
+
+    /**
+        Get the value of the last element
+        @return the value of the last element
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(1)
+     */
+    public E getLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return elements[physicalIndex(size - 1)];
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E set(int index, E newValue) {
+        checkIndex(index);
+        int i = physicalIndex(index);
+        E oldValue = elements[i];
+        elements[i] = newValue;
+        return oldValue;
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one compaction pass over the ring:
+        kept elements are moved toward the head behind a write cursor and the vacated slots
+        at the tail are cleared.
+        If the predicate throws, the elements it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        int mask = elements.length - 1;
+        int oldSize = size;
+        int read = 0;
+        int write = 0;
+        try {
+            for (; read < size; read++) {
+                E e = elements[(head + read) & mask];
+                if (!filter.test(e)) {
+                    if (write != read)
+                        elements[(head + write) & mask] = e;
+                    write++;
+                }
+            }
+        } finally {
+            for (; read < size; read++, write++)
+                elements[(head + write) & mask] = elements[(head + read) & mask];
+            for (int i = write; i < size; i++)
+                elements[(head + i) & mask] = null;
+            if (write < size) {
+                size = write;
+                modCount++;
+            }
+        }
+        return size < oldSize;
+    }
+
+    /**
+        Remove the element at a given index
+        The shorter side of the list is shifted to close the hole
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(min(index, size - index))
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        int mask = elements.length - 1;
+        E val = elements[(head + index) & mask];
+        if (index < (size >> 1)) {
+            for (int i = index; i > 0; i--)
+                elements[(head + i) & mask] = elements[(head + i - 1) & mask];
+            elements[head] = null;
+            head = (head + 1) & mask;
+        } else {
+            for (int i = index; i < size - 1; i++)
+                elements[(head + i) & mask] = elements[(head + i + 1) & mask];
+            elements[(head + size - 1) & mask] = null;
+        }
+        size--;
+        modCount++;
+        return val;
+    }
+
+    /**
+        Remove the first element
+        @return the value of the element that was removed
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(1)
+     */
+    public E removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return remove(0);
+    }
+
+    /**
+        Remove the last element
+        @return the value of the element that was removed
+        @throws NoSuchElementException if the list is empty
+        Time complexity: O(1)
+     */
+    public E removeLast() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        return remove(size - 1);
+    }
+
+    /**
+        Map a list index to its position in the array 'elements'
+        @param index the index in the list
+        @return the position of the element in the array
+        Time complexity: O(1)
+     */
+    private int physicalIndex(int index) {
+        return (head + index) & (elements.length - 1);
+    }
+
+    /**
+        Double the length of the array 'elements' until it can hold minCapacity elements,
+        moving the list to the start of the new array
+        @param minCapacity the number of elements the array must be able to hold
+        Time complexity: O(n) if the size reaches the capacity
+    */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int newCap = elements.length;
+            while (newCap < minCapacity)
+                newCap <<= 1;
+            E[] newElements = (E[]) new Object[newCap];
+            copyTo(newElements);
+            elements = newElements;
+            head = 0;
+        }
+    }
+
+    /**
+        Copy the elements of the list in order to the start of an array
+        @param dest the array receiving the elements, at least size long
+        Time complexity: O(n)
+     */
+    private void copyTo(Object[] dest) {
+        int firstPart = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, dest, 0, firstPart);
+        System.arraycopy(elements, 0, dest, firstPart, size - firstPart);
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object pointing to the first element the list
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new CircularIterator();
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>
+     */
+    private class CircularIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member expectedModCount: modCount of the list when the iterator was created
+        private final int expectedModCount = modCount;
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws ArrayIndexOutOfBoundsException if current is out of bounds
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (current < 0 || current >= size)
+                throw new ArrayIndexOutOfBoundsException("No more elements");
+            return elements[physicalIndex(current++)];
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(elements[physicalIndex(i)]).append(" ");
+        if (size > 0)
+            output.append(elements[physicalIndex(size - 1)]);
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list
+        The array grows at most once
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        int count = c.size();
+        if (count == 0)
+            return false;
+        ensureCapacity(size + count);
+        Iterator<E> iterator = c.iterator();
+        for (int i = 0; i < count; i++)
+            elements[physicalIndex(size + i)] = iterator.next();
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!elements[physicalIndex(i)].equals(iter.next()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (elements[physicalIndex(i)].equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[physicalIndex(i)].equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array containing all of the elements in this list in proper sequence
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        copyTo(array);
+        return array;
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        The list is first moved to the start of the array so it can be sorted in one range
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        if (head + size > elements.length) {
+            E[] newElements = (E[]) new Object[elements.length];
+            copyTo(newElements);
+            elements = newElements;
+            head = 0;
+        }
+        Arrays.sort(elements, head, head + size, c);
+        modCount++;
+    }
+}
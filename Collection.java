@@ -1,4 +1,10 @@
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A generic collection interface that defines common methods for manipulating collections of elements.
@@ -74,4 +80,90 @@ public interface Collection<E> {
      * @return true if this collection contains no elements
      */
     public abstract boolean isEmpty();
+
+    /**
+     * Removes all of the elements of this collection that satisfy the given predicate.
+     * The default implementation removes them one by one through iterator();
+     * implementations whose iterator cannot remove override it with a single pass.
+     *
+     * @param filter a predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     * @throws UnsupportedOperationException if an element must be removed and the iterator cannot remove it
+     */
+    public default boolean removeIf(Predicate<? super E> filter) {
+        boolean removed = false;
+        for (Iterator<E> it = iterator(); it.hasNext();) {
+            if (filter.test(it.next())) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all of the elements of this collection that are also contained in the specified collection.
+     *
+     * @param c the collection containing the elements to be removed from this collection
+     * @return true if this collection changed as a result of the call
+     */
+    public default boolean removeAll(Collection<?> c) {
+        return removeIf(membership(c));
+    }
+
+    /**
+     * Retains only the elements of this collection that are contained in the specified collection.
+     *
+     * @param c the collection containing the elements to be retained in this collection
+     * @return true if this collection changed as a result of the call
+     */
+    public default boolean retainAll(Collection<?> c) {
+        return removeIf(membership(c).negate());
+    }
+
+    /**
+     * Returns a test for membership in the specified collection. Collections of more than
+     * 16 elements, and this collection itself, are first copied into a temporary hash set,
+     * so each test costs O(1) instead of a linear search.
+     *
+     * @param c the collection to test membership in
+     * @return a predicate which returns true for the elements contained in c
+     */
+    private Predicate<Object> membership(Collection<?> c) {
+        if (c.size() <= 16 && c != this)
+            return c::contains;
+        HashSet<Object> set = new HashSet<>(Math.max(16, (int) (c.size() / 0.75f) + 1));
+        for (Iterator<?> it = c.iterator(); it.hasNext();)
+            set.add(it.next());
+        return set::contains;
+    }
+
+    /**
+     * Returns a Spliterator over the elements in this collection.
+     * The default implementation wraps iterator(); implementations should override it
+     * with one that splits efficiently.
+     *
+     * @return a Spliterator over the elements in this collection
+     */
+    public default Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**
+     * Returns a sequential Stream with this collection as its source.
+     *
+     * @return a sequential Stream over the elements in this collection
+     */
+    public default Stream<E> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a possibly parallel Stream with this collection as its source.
+     *
+     * @return a possibly parallel Stream over the elements in this collection
+     */
+    public default Stream<E> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,524 @@
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * ConcurrentLinkedDeque Generic Class
+ * A lock-free deque with the addFirst/addLast/removeFirst/removeLast/getFirst/getLast
+ * methods of LinkedList, safe to use from many threads without a lock.
+ *
+ * Both ends are described by one immutable anchor (head, tail, status, size) that is
+ * replaced with compare-and-set, following M. Michael, "CAS-Based Lock-Free Algorithm
+ * for Shared Deques" (Euro-Par 2003). A push first swings the anchor to the new node in
+ * an unstable state and then links the old end node to it; any thread that finds the
+ * anchor unstable completes that link before continuing, so no thread ever waits.
+ * Because the size is part of the anchor, size() is exact and O(1).
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ * @param <E> the type of elements in this deque
+ */
+public class ConcurrentLinkedDeque<E> implements Collection<E> {
+    // anchor states: both ends linked, or a push at the tail/head waiting for its link
+    private static final int STABLE = 0;
+    private static final int TAIL_PUSH = 1;
+    private static final int HEAD_PUSH = 2;
+
+    private static final VarHandle ANCHOR;
+    private static final VarHandle NEXT;
+    private static final VarHandle PREV;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            ANCHOR = lookup.findVarHandle(ConcurrentLinkedDeque.class, "anchor", Anchor.class);
+            NEXT = lookup.findVarHandle(Node.class, "next", Node.class);
+            PREV = lookup.findVarHandle(Node.class, "prev", Node.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Data member: the current ends, status and size of the deque
+    private volatile Anchor<E> anchor = new Anchor<>(null, null, STABLE, 0);
+
+    /**
+     * Inner class Node
+     */
+    private static class Node<E> {
+        final E value;
+        volatile Node<E> next;
+        volatile Node<E> prev;
+
+        Node(E initialValue) {
+            value = initialValue;
+        }
+    }
+
+    /**
+     * Inner class Anchor, an immutable snapshot of both ends of the deque
+     */
+    private static class Anchor<E> {
+        final Node<E> head;
+        final Node<E> tail;
+        final int status;
+        final int size;
+
+        Anchor(Node<E> head, Node<E> tail, int status, int size) {
+            this.head = head;
+            this.tail = tail;
+            this.status = status;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Default Constructor
+     * creates an empty deque
+     * Time complexity: O(1)
+     */
+    public ConcurrentLinkedDeque() {
+    }
+
+    /**
+     * Get the number of elements in the deque
+     *
+     * @return the number of elements at the moment of the call
+     * Time complexity: O(1)
+     */
+    public int size() {
+        return anchor.size;
+    }
+
+    /**
+     * Check if the deque is empty
+     *
+     * @return true if the deque is empty
+     * Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return anchor.size == 0;
+    }
+
+    /**
+     * Remove all elements with a single atomic update
+     * Time complexity: O(1)
+     */
+    public void clear() {
+        Anchor<E> empty = new Anchor<>(null, null, STABLE, 0);
+        while (true) {
+            Anchor<E> a = anchor;
+            if (a.size == 0 || casAnchor(a, empty))
+                return;
+        }
+    }
+
+    /**
+     * Adding a value at the tail of the deque
+     * Calls addLast
+     *
+     * @param item the value to be added
+     * @return true if the operation was successful
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1) amortized
+     */
+    public boolean add(E item) {
+        return addLast(item);
+    }
+
+    /**
+     * Adding a value at the head of the deque
+     *
+     * @param value the value to be added
+     * @return true if the operation was successful
+     * @throws NullPointerException if value is null
+     * Time complexity: O(1) amortized
+     */
+    public boolean addFirst(E value) {
+        if (value == null)
+            throw new NullPointerException();
+        Node<E> node = new Node<>(value);
+        while (true) {
+            Anchor<E> a = anchor;
+            if (a.head == null) {
+                if (casAnchor(a, new Anchor<>(node, node, STABLE, 1)))
+                    return true;
+            } else if (a.status == STABLE) {
+                node.next = a.head;
+                Anchor<E> pushed = new Anchor<>(node, a.tail, HEAD_PUSH, a.size + 1);
+                if (casAnchor(a, pushed)) {
+                    stabilizeHead(pushed);
+                    return true;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    /**
+     * Adding a value at the tail of the deque
+     *
+     * @param item the value to be added
+     * @return true if the operation was successful
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1) amortized
+     */
+    public boolean addLast(E item) {
+        if (item == null)
+            throw new NullPointerException();
+        Node<E> node = new Node<>(item);
+        while (true) {
+            Anchor<E> a = anchor;
+            if (a.tail == null) {
+                if (casAnchor(a, new Anchor<>(node, node, STABLE, 1)))
+                    return true;
+            } else if (a.status == STABLE) {
+                node.prev = a.tail;
+                Anchor<E> pushed = new Anchor<>(a.head, node, TAIL_PUSH, a.size + 1);
+                if (casAnchor(a, pushed)) {
+                    stabilizeTail(pushed);
+                    return true;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    /**
+     * Get the value at the head of the deque
+     *
+     * @return value at the head
+     * @throws NoSuchElementException if the deque is empty
+     * Time complexity: O(1)
+     */
+    public E getFirst() {
+        Node<E> head = anchor.head;
+        if (head == null)
+            throw new NoSuchElementException();
+        return head.value;
+    }
+
+    /**
+     * Get the value at the tail of the deque
+     *
+     * @return value at the tail
+     * @throws NoSuchElementException if the deque is empty
+     * Time complexity: O(1)
+     */
+    public E getLast() {
+        Node<E> tail = anchor.tail;
+        if (tail == null)
+            throw new NoSuchElementException();
+        return tail.value;
+    }
+
+    /**
+     * Removes the value at the head of the deque
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the deque is empty
+     * Time complexity: O(1) amortized
+     */
+    public E removeFirst() {
+        E value = pollFirst();
+        if (value == null)
+            throw new NoSuchElementException();
+        return value;
+    }
+
+    /**
+     * Removes the value at the tail of the deque
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the deque is empty
+     * Time complexity: O(1) amortized
+     */
+    public E removeLast() {
+        E value = pollLast();
+        if (value == null)
+            throw new NoSuchElementException();
+        return value;
+    }
+
+    /**
+     * Removes the value at the head of the deque if there is one
+     * Unlike isEmpty() followed by removeFirst(), this cannot fail when another thread empties the deque
+     *
+     * @return the removed value, or null if the deque is empty
+     * Time complexity: O(1) amortized
+     */
+    public E pollFirst() {
+        while (true) {
+            Anchor<E> a = anchor;
+            if (a.head == null)
+                return null;
+            if (a.head == a.tail) {
+                if (casAnchor(a, new Anchor<>(null, null, STABLE, 0)))
+                    return a.head.value;
+            } else if (a.status == STABLE) {
+                Node<E> head = a.head.next;
+                if (casAnchor(a, new Anchor<>(head, a.tail, STABLE, a.size - 1))) {
+                    // the new head no longer links back to the removed node, so a deque that never
+                    // empties does not keep every removed node reachable; a head push may already
+                    // have relinked it, in which case the CAS leaves its link alone
+                    PREV.compareAndSet(head, a.head, null);
+                    return a.head.value;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    /**
+     * Removes the value at the tail of the deque if there is one
+     * Unlike isEmpty() followed by removeLast(), this cannot fail when another thread empties the deque
+     *
+     * @return the removed value, or null if the deque is empty
+     * Time complexity: O(1) amortized
+     */
+    public E pollLast() {
+        while (true) {
+            Anchor<E> a = anchor;
+            if (a.tail == null)
+                return null;
+            if (a.head == a.tail) {
+                if (casAnchor(a, new Anchor<>(null, null, STABLE, 0)))
+                    return a.tail.value;
+            } else if (a.status == STABLE) {
+                Node<E> tail = a.tail.prev;
+                if (casAnchor(a, new Anchor<>(a.head, tail, STABLE, a.size - 1))) {
+                    // unlink the removed node from the new tail, as pollFirst does at the head
+                    NEXT.compareAndSet(tail, a.tail, null);
+                    return a.tail.value;
+                }
+            } else {
+                stabilize(a);
+            }
+        }
+    }
+
+    /**
+     * Remove an object o from the deque
+     * Removing from the middle is not supported by the lock-free algorithm
+     *
+     * @param o the object to be removed
+     * @return never returns normally
+     * @throws UnsupportedOperationException always
+     */
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("Only the ends of a ConcurrentLinkedDeque can be removed");
+    }
+
+    /**
+     * Removes all of the elements of this deque that satisfy the given predicate
+     * The kept values are copied into a new chain of nodes that replaces the whole deque
+     * with a single atomic update; if another thread changes the deque first, the pass
+     * is repeated on the new contents, so the filter may see an element more than once
+     *
+     * @param filter a predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     * @throws NullPointerException if filter is null
+     * Time complexity: O(n) for each pass
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        while (true) {
+            Anchor<E> a;
+            while ((a = anchor).status != STABLE)
+                stabilize(a);
+            Node<E> head = null;
+            Node<E> tail = null;
+            int kept = 0;
+            for (Iterator<E> iter = new DequeIterator(a.head, a.tail); iter.hasNext();) {
+                E value = iter.next();
+                if (filter.test(value))
+                    continue;
+                Node<E> node = new Node<>(value);
+                if (tail == null) {
+                    head = node;
+                } else {
+                    node.prev = tail;
+                    tail.next = node;
+                }
+                tail = node;
+                kept++;
+            }
+            if (kept == a.size)
+                return false;
+            if (casAnchor(a, new Anchor<>(head, tail, STABLE, kept)))
+                return true;
+        }
+    }
+
+    /**
+     * Linear search method over a weakly consistent traversal
+     *
+     * @param o the object being searched
+     * @return true if o was found in this deque, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        Iterator<E> iter = iterator();
+        while (iter.hasNext()) {
+            if (iter.next().equals(o))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Adds all of the elements in the specified collection at the tail of this deque, one at a time
+     *
+     * @param c the collection containing elements to be added
+     * @return true if this deque changed as a result of the call
+     * Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        boolean modified = false;
+        for (Iterator<E> iterator = c.iterator(); iterator.hasNext();) {
+            addLast(iterator.next());
+            modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * toString method
+     *
+     * @return a formatted string that contains the values of a weakly consistent traversal
+     * Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        String separator = "";
+        for (Iterator<E> iter = iterator(); iter.hasNext();) {
+            output.append(separator).append(iter.next());
+            separator = " ";
+        }
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+     * iterator method
+     * The iterator is weakly consistent: it starts from the ends seen when it is created,
+     * never throws ConcurrentModificationException, and may or may not reflect later changes
+     *
+     * @return an iterator object pointing to the first value in the deque
+     * Time complexity: O(1) amortized
+     */
+    public Iterator<E> iterator() {
+        Anchor<E> a;
+        while ((a = anchor).status != STABLE)
+            stabilize(a);
+        return new DequeIterator(a.head, a.tail);
+    }
+
+    /**
+     * Inner class that implements the interface Iterator
+     */
+    private class DequeIterator implements Iterator<E> {
+        private Node<E> current;
+        // tail when the iterator was created; traversal stops after it
+        private final Node<E> last;
+
+        DequeIterator(Node<E> first, Node<E> last) {
+            current = first;
+            this.last = last;
+        }
+
+        /**
+         * hasNext method
+         *
+         * @return true if the current is not null
+         * Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current != null;
+        }
+
+        /**
+         * next method
+         *
+         * @return the value of the node referenced by current and
+         * modifies current to hold the reference of the next node
+         * @throws NoSuchElementException if current is null
+         * Time complexity: O(1)
+         */
+        public E next() {
+            if (current == null)
+                throw new NoSuchElementException();
+            E value = current.value;
+            current = (current == last) ? null : current.next;
+            return value;
+        }
+    }
+
+    /**
+     * Complete the pending push recorded in an unstable anchor
+     *
+     * @param a the anchor seen by the caller
+     * Time complexity: O(1)
+     */
+    private void stabilize(Anchor<E> a) {
+        if (a.status == TAIL_PUSH)
+            stabilizeTail(a);
+        else
+            stabilizeHead(a);
+    }
+
+    /**
+     * Link the old tail to the node pushed at the tail, then mark the anchor stable
+     *
+     * @param a an anchor in the TAIL_PUSH state
+     * Time complexity: O(1)
+     */
+    private void stabilizeTail(Anchor<E> a) {
+        Node<E> prev = a.tail.prev;
+        if (anchor != a)
+            return;
+        Node<E> prevNext = prev.next;
+        if (prevNext != a.tail) {
+            if (anchor != a)
+                return;
+            if (!NEXT.compareAndSet(prev, prevNext, a.tail))
+                return;
+        }
+        casAnchor(a, new Anchor<>(a.head, a.tail, STABLE, a.size));
+    }
+
+    /**
+     * Link the old head to the node pushed at the head, then mark the anchor stable
+     *
+     * @param a an anchor in the HEAD_PUSH state
+     * Time complexity: O(1)
+     */
+    private void stabilizeHead(Anchor<E> a) {
+        Node<E> next = a.head.next;
+        if (anchor != a)
+            return;
+        Node<E> nextPrev = next.prev;
+        if (nextPrev != a.head) {
+            if (anchor != a)
+                return;
+            if (!PREV.compareAndSet(next, nextPrev, a.head))
+                return;
+        }
+        casAnchor(a, new Anchor<>(a.head, a.tail, STABLE, a.size));
+    }
+
+    /**
+     * Atomically replace the anchor if it is still the expected one
+     *
+     * @return true if the anchor was replaced
+     * Time complexity: O(1)
+     */
+    private boolean casAnchor(Anchor<E> expected, Anchor<E> update) {
+        return ANCHOR.compareAndSet(this, expected, update);
+    }
+}
@@ -0,0 +1,427 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Generic class to implement a thread-safe array-based list for read-mostly data
+ * Readers work on an immutable snapshot of the array and never lock. Every write
+ * copies the array under a lock and publishes the copy with a volatile write, so
+ * batch writes should go through update() or addAll() to pay for one copy.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class CopyOnWriteArrayList<E> implements List<E> {
+    // data member: current snapshot, never modified after it is published
+    private volatile Object[] elements;
+    // data member: lock held by writers while they copy and publish a new snapshot
+    private final Object lock = new Object();
+
+    /**
+        Default constructor creates an empty list
+        Time complexity: O(1)
+    */
+    public CopyOnWriteArrayList() {
+        elements = new Object[0];
+    }
+
+    /**
+        Constructor with one parameter creates a list holding the elements of c
+        @param c the collection whose elements are copied into the list
+        Time complexity: O(n)
+    */
+    public CopyOnWriteArrayList(Collection<E> c) {
+        Object[] array = new Object[c.size()];
+        Iterator<E> iter = c.iterator();
+        for (int i = 0; i < array.length; i++)
+            array[i] = iter.next();
+        elements = array;
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the current snapshot
+        Time complexity: O(1)
+     */
+    public int size() {
+        return elements.length;
+    }
+
+    /**
+        Clear the list by publishing an empty snapshot
+        Time complexity: O(1)
+     */
+    public void clear() {
+        synchronized (lock) {
+            elements = new Object[0];
+        }
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the current snapshot is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return elements.length == 0;
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(n)
+    */
+    public boolean add(E item) {
+        synchronized (lock) {
+            Object[] current = elements;
+            Object[] next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = item;
+            elements = next;
+            return true;
+        }
+    }
+
+    /**
+        Method to add a new item at a given position index
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(n)
+    */
+    public void add(int index, E item) {
+        synchronized (lock) {
+            Object[] current = elements;
+            if (index > current.length || index < 0)
+                throw new ArrayIndexOutOfBoundsException();
+            Object[] next = new Object[current.length + 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index, next, index + 1, current.length - index);
+            next[index] = item;
+            elements = next;
+        }
+    }
+
+    /**
+     * Linear search method
+     * @param o the object being searched
+     * @return true if o was found in the current snapshot, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index in the current snapshot
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        Object[] current = elements;
+        checkIndex(index, current.length);
+        return (E) current[index];
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public E set(int index, E newValue) {
+        synchronized (lock) {
+            Object[] current = elements;
+            checkIndex(index, current.length);
+            E oldValue = (E) current[index];
+            Object[] next = current.clone();
+            next[index] = newValue;
+            elements = next;
+            return oldValue;
+        }
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        synchronized (lock) {
+            int index = indexOf(o, elements);
+            if (index < 0)
+                return false;
+            removeAt(index);
+            return true;
+        }
+    }
+
+    /**
+        Remove the element at a given index
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public E remove(int index) {
+        synchronized (lock) {
+            checkIndex(index, elements.length);
+            return removeAt(index);
+        }
+    }
+
+    /**
+        Remove every element that satisfies a predicate, publishing one filtered copy
+        The filter runs under the lock on the current snapshot; if it throws, nothing is published
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        synchronized (lock) {
+            Object[] current = elements;
+            Object[] kept = new Object[current.length];
+            int count = 0;
+            for (Object o : current) {
+                if (!filter.test((E) o))
+                    kept[count++] = o;
+            }
+            if (count == current.length)
+                return false;
+            elements = Arrays.copyOf(kept, count);
+            return true;
+        }
+    }
+
+    /**
+        Publish a copy of the snapshot without the element at index; the caller holds the lock
+        @param index the position of the element to be removed, already checked
+        @return the value of the element that was removed
+        Time complexity: O(n)
+     */
+    private E removeAt(int index) {
+        Object[] current = elements;
+        E val = (E) current[index];
+        Object[] next = new Object[current.length - 1];
+        System.arraycopy(current, 0, next, 0, index);
+        System.arraycopy(current, index + 1, next, index, current.length - index - 1);
+        elements = next;
+        return val;
+    }
+
+    /**
+        Apply a batch of edits with a single snapshot copy
+        The edits run on a private ArrayList holding the current elements while the
+        lock is held; readers keep seeing the old snapshot until the batch is published
+        @param edits the changes to apply to the list
+        Time complexity: O(n + cost of the edits)
+     */
+    public void update(Consumer<? super List<E>> edits) {
+        synchronized (lock) {
+            Object[] current = elements;
+            ArrayList<E> work = new ArrayList<>(current.length + 10);
+            for (Object o : current)
+                work.add((E) o);
+            edits.accept(work);
+            elements = work.toArray();
+        }
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @param size the size of the snapshot being accessed
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator over the snapshot current when the iterator is created
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new SnapshotIterator(elements);
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E> over one snapshot
+        Later writes to the list are not seen and never cause an exception
+     */
+    private class SnapshotIterator implements Iterator<E> {
+        // data member snapshot: the array being traversed
+        private final Object[] snapshot;
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+
+        SnapshotIterator(Object[] snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+            @return true if current did not reach the end of the snapshot, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < snapshot.length;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws NoSuchElementException if current is out of bounds
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (current >= snapshot.length)
+                throw new NoSuchElementException("No more elements");
+            return (E) snapshot[current++];
+        }
+    }
+
+    /**
+        @override spliterator() from the interface Collection
+        @return an IMMUTABLE spliterator over the current snapshot
+        Time complexity: O(1)
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(elements, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the current snapshot
+        Time complexity: O(n)
+     */
+    public String toString() {
+        Object[] current = elements;
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < current.length - 1; i++)
+            output.append(current[i]).append(" ");
+        if (current.length > 0)
+            output.append(current[current.length - 1]);
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list with a single snapshot copy
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        Object[] added = new Object[c.size()];
+        Iterator<E> iter = c.iterator();
+        for (int i = 0; i < added.length; i++)
+            added[i] = iter.next();
+        if (added.length == 0)
+            return false;
+        synchronized (lock) {
+            Object[] current = elements;
+            Object[] next = Arrays.copyOf(current, current.length + added.length);
+            System.arraycopy(added, 0, next, current.length, added.length);
+            elements = next;
+            return true;
+        }
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to the current snapshot
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        Object[] current = elements;
+        List<?> list = (List<?>) o;
+        if (list.size() != current.length)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (Object element : current) {
+            if (!iter.hasNext() || !element.equals(iter.next()))
+                return false;
+        }
+        return !iter.hasNext();
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        return indexOf(o, elements);
+    }
+
+    /**
+        @param o the element to search for
+        @param current the snapshot to search
+        @return the index of the first occurrence of o in current, or -1 if it does not occur
+        Time complexity: O(n)
+     */
+    private static int indexOf(Object o, Object[] current) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        Object[] current = elements;
+        for (int i = current.length - 1; i >= 0; i--) {
+            if (current[i].equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return a copy of the current snapshot
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        return elements.clone();
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        The sorted copy is published as one new snapshot
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        synchronized (lock) {
+            E[] next = (E[]) elements.clone();
+            Arrays.sort(next, c);
+            elements = next;
+        }
+    }
+}
@@ -0,0 +1,517 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * Generic class to implement an array-based list with a hash index from each element to its positions
+ * contains runs in expected O(1) after any mutation. indexOf, lastIndexOf and remove(Object)
+ * run in expected O(1) while the positions they need are valid; an insertion or removal in the
+ * middle only marks the positions from that index on as stale, and they are rebuilt in one
+ * pass by the next lookup that needs them.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class IndexedList<E> implements List<E> {
+    // data member: array for the list elements
+    private E[] elements;
+    // data member: size of the list
+    private int size;
+    // data member: index from each distinct element to the positions where it occurs
+    private HashMap<Object, Positions> index;
+    // data member: stored positions below this value are exact, the others are stale
+    private int staleFrom = Integer.MAX_VALUE;
+    // data member: number of structural modifications, checked by iterators
+    private int modCount;
+
+    /**
+        Default constructor creates the array with a default length of 10 and sets size to 0
+        Time complexity: O(1)
+    */
+    public IndexedList() {
+        this(10);
+    }
+
+    /**
+        Constructor with one parameter creates the array with length equal to capacity and sets size to 0
+        @param capacity length of the array elements
+        Time complexity: O(1)
+    */
+    public IndexedList(int capacity) {
+        elements = (E[]) new Object[capacity];
+        index = new HashMap<>();
+        size = 0;
+    }
+
+    /**
+        Inner class to hold the positions of one distinct element
+        count is always exact; the entries below staleFrom come first, in ascending order
+     */
+    private static class Positions {
+        // data member: stored positions, the first count entries are in use
+        int[] at = new int[2];
+        // data member: number of occurrences of the element in the list
+        int count;
+
+        /**
+            Append a position
+            @param position the position to store
+            Time complexity: O(1) amortized
+         */
+        void append(int position) {
+            if (count == at.length)
+                at = Arrays.copyOf(at, count * 2);
+            at[count++] = position;
+        }
+
+        /**
+            Remove a stored exact position, keeping the order of the others
+            @param position the position to remove, below the first stale position
+            Time complexity: O(k) where k is the number of occurrences
+         */
+        void removeExact(int position) {
+            int i = Arrays.binarySearch(at, 0, exactCount(position + 1), position);
+            System.arraycopy(at, i + 1, at, i, count - i - 1);
+            count--;
+        }
+
+        /**
+            Insert an exact position in ascending order among the exact positions
+            @param position the position to insert, below the first stale position
+            Time complexity: O(k) where k is the number of occurrences
+         */
+        void insertExact(int position) {
+            if (count == at.length)
+                at = Arrays.copyOf(at, count * 2);
+            int i = exactCount(position);
+            System.arraycopy(at, i, at, i + 1, count - i);
+            at[i] = position;
+            count++;
+        }
+
+        /**
+            The exact positions are sorted and every stale one is at least staleFrom,
+            so the search is valid for any bound up to staleFrom
+            @param bound an exclusive upper bound, at most the first stale position
+            @return the number of leading stored positions that are below bound
+            Time complexity: O(log k) where k is the number of occurrences
+         */
+        int exactCount(int bound) {
+            int low = 0, high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (at[mid] < bound)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list and its index
+        Time complexity: O(n)
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        index.clear();
+        staleFrom = Integer.MAX_VALUE;
+        modCount++;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(1) expected, or O(n) if the array capacity needs to grow
+    */
+    public boolean add(E item) {
+        ensureCapacity(size + 1);
+        elements[size] = item;
+        index.computeIfAbsent(item, k -> new Positions()).append(size);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Method to add a new item at a given position index
+        Positions from index on become stale; the index is not walked
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(n) for the array shift, O(1) expected for the index
+    */
+    public void add(int index, E item) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        if (index == size) {
+            add(item);
+            return;
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = item;
+        size++;
+        markStale(index);
+        this.index.computeIfAbsent(item, k -> new Positions()).append(index);
+        modCount++;
+    }
+
+    /**
+     * Hash lookup
+     * @param o the object being searched
+     * @return true if o was found in the list, false otherwise
+     * Time complexity: O(1) expected
+     */
+    public boolean contains(Object o) {
+        return index.containsKey(o);
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(k) expected where k is the number of occurrences of the values involved
+     */
+    public E set(int index, E newValue) {
+        checkIndex(index);
+        E oldValue = elements[index];
+        elements[index] = newValue;
+        if (index < staleFrom) {
+            dropPosition(oldValue, index);
+            this.index.computeIfAbsent(newValue, k -> new Positions()).insertExact(index);
+        } else {
+            dropPosition(oldValue, -1);
+            this.index.computeIfAbsent(newValue, k -> new Positions()).append(index);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(1) expected to find o, O(n) for the array shift
+     */
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0)
+            return false;
+        remove(i);
+        return true;
+    }
+
+    /**
+        Remove the element at a given index
+        Positions after index become stale unless the last element is removed
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n) for the array shift, O(1) expected for the index
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        E val = elements[index];
+        if (index == size - 1 && index < staleFrom) {
+            dropPosition(val, index);
+        } else {
+            markStale(index);
+            dropPosition(val, -1);
+        }
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        if (staleFrom >= size)
+            staleFrom = Integer.MAX_VALUE;
+        modCount++;
+        return val;
+    }
+
+    /**
+        Reduce the capacity of the array to the size of the list
+        Time complexity: O(n)
+     */
+    public void trimToSize() {
+        if (size != elements.length)
+            elements = Arrays.copyOf(elements, size);
+    }
+
+    /**
+        Grow the array to hold at least minCapacity elements
+        @param minCapacity the number of elements the array must be able to hold
+        Time complexity: O(n) if the array grows, O(1) otherwise
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length)
+            elements = Arrays.copyOf(elements, Math.max(elements.length + (elements.length >> 1), minCapacity));
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        Mark the stored positions from index on as stale
+        @param index the first position whose element moved
+        Time complexity: O(1)
+     */
+    private void markStale(int index) {
+        if (index < staleFrom)
+            staleFrom = index;
+    }
+
+    /**
+        Remove one stored position of item, dropping its entry when it no longer occurs
+        @param item the element that lost an occurrence
+        @param position the exact position to drop, or -1 to drop a stale position
+        Time complexity: O(k) expected where k is the number of occurrences of item
+     */
+    private void dropPosition(Object item, int position) {
+        Positions positions = index.get(item);
+        if (positions.count == 1)
+            index.remove(item);
+        else if (position >= 0)
+            positions.removeExact(position);
+        else
+            positions.count--;
+    }
+
+    /**
+        Recompute every stored position in one pass over the list
+        Time complexity: O(n) expected
+     */
+    private void rebuildIndex() {
+        for (Positions positions : index.values())
+            positions.count = 0;
+        for (int i = 0; i < size; i++)
+            index.get(elements[i]).append(i);
+        staleFrom = Integer.MAX_VALUE;
+    }
+
+    /**
+        Estimate the memory used by the hash index, not counting the elements themselves
+        Assumes a 64-bit JVM with compressed references: 16 bytes per object header,
+        4 bytes per reference, 32 bytes per HashMap entry
+        @return the estimated number of bytes held by the index
+        Time complexity: O(d) where d is the number of distinct elements
+     */
+    public long indexFootprint() {
+        int buckets = Integer.highestOneBit(Math.max(1, (int) (index.size() / 0.75f)) * 2 - 1);
+        long bytes = 48 + 16 + 4L * Math.max(16, buckets);
+        for (Positions positions : index.values())
+            bytes += 32 + 24 + 16 + 4L * positions.at.length;
+        return bytes;
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object pointing to the first element in the list
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new IndexedIterator();
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>
+     */
+    private class IndexedIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member lastReturned: the index of the element last returned by next, -1 if none
+        private int lastReturned = -1;
+        // data member expectedModCount: modCount of the list when this iterator last changed it
+        private int expectedModCount = modCount;
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws ArrayIndexOutOfBoundsException if current is out of bounds
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (current >= size)
+                throw new ArrayIndexOutOfBoundsException("No more elements");
+            lastReturned = current;
+            return elements[current++];
+        }
+
+        /**
+            Remove the element last returned by next
+            @throws IllegalStateException if next was not called since the last remove
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(n)
+         */
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            IndexedList.this.remove(lastReturned);
+            current = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(elements[i]).append(" ");
+        if (size > 0)
+            output.append(elements[size - 1]);
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list
+        The array grows at most once
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(m) expected where m is the size of c
+     */
+    public boolean addAll(Collection<E> c) {
+        int count = c.size();
+        if (count == 0)
+            return false;
+        ensureCapacity(size + count);
+        Iterator<E> iterator = c.iterator();
+        for (int i = 0; i < count; i++)
+            add(iterator.next());
+        return true;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(elements[i], iter.next()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(1) expected, O(n) if the stale positions have to be rebuilt
+     */
+    public int indexOf(Object o) {
+        Positions positions = index.get(o);
+        if (positions == null)
+            return -1;
+        if (positions.at[0] >= staleFrom)
+            rebuildIndex();
+        return positions.at[0];
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(1) expected, O(n) if the stale positions have to be rebuilt
+     */
+    public int lastIndexOf(Object o) {
+        Positions positions = index.get(o);
+        if (positions == null)
+            return -1;
+        if (positions.at[positions.count - 1] >= staleFrom)
+            rebuildIndex();
+        return positions.at[positions.count - 1];
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array containing all of the elements in this list in proper sequence
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        Every position moves, so the whole index is marked stale
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        Arrays.sort(elements, 0, size, c);
+        markStale(0);
+        modCount++;
+    }
+}
@@ -0,0 +1,498 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.Predicate;
+
+/**
+ * Array-based list of int values stored without boxing
+ * Implements List<Integer> so it can be used anywhere a generic list is expected,
+ * and adds unboxed accessors (addInt, getInt, setInt, indexOfInt, ...) for hot paths
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class IntArrayList implements List<Integer> {
+    // data member: array for the list elements
+    private int[] elements;
+    // data member: size of the list
+    private int size;
+
+    /**
+        Default constructor creates the array with a default length of 10 and sets size to 0
+        Time complexity: O(1)
+    */
+    public IntArrayList() {
+        elements = new int[10];
+        size = 0;
+    }
+
+    /**
+        Constructor with one parameter creates the array with length equal to capacity and sets size to 0
+        @param capacity length of the array elements
+        Time complexity: O(1)
+    */
+    public IntArrayList(int capacity) {
+        elements = new int[capacity];
+        size = 0;
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list by setting size to 0
+        Time complexity: O(1)
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        @throws NullPointerException if item is null
+        Time complexity: O(1) or O(n) if the array capacity needs to grow
+    */
+    public boolean add(Integer item) {
+        return addInt(item);
+    }
+
+    /**
+        Method to add a new int value at the end of the list without boxing
+        @param value the value to be added
+        @return true
+        Time complexity: O(1) or O(n) if the array capacity needs to grow
+    */
+    public boolean addInt(int value) {
+        ensureCapacity(size + 1);
+        elements[size++] = value;
+        return true;
+    }
+
+    /**
+        Method to add a new item at a given position index
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        @throws NullPointerException if item is null
+        Time complexity: O(n)
+    */
+    public void add(int index, Integer item) {
+        addInt(index, item);
+    }
+
+    /**
+        Method to add a new int value at a given position index without boxing
+        @param index the position where value should be added
+        @param value the value to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(n)
+    */
+    public void addInt(int index, int value) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+        Linear search method
+        @param o the object being searched
+        @return true if o is an Integer found in this list, false otherwise
+        Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Linear search method without boxing
+        @param value the value being searched
+        @return true if value was found in this list, false otherwise
+        Time complexity: O(n)
+     */
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    /**
+        Get the value of the element at index without boxing
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public int getInt(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        @throws NullPointerException if newValue is null
+        Time complexity: O(1)
+     */
+    public Integer set(int index, Integer newValue) {
+        return setInt(index, newValue);
+    }
+
+    /**
+        Set the value of the element at index without boxing
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public int setInt(int index, int newValue) {
+        checkIndex(index);
+        int oldValue = elements[index];
+        elements[index] = newValue;
+        return oldValue;
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        removeInt(index);
+        return true;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one compaction pass: kept values
+        are moved down behind a write cursor.
+        If the predicate throws, the values it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super Integer> filter) {
+        int oldSize = size;
+        int read = 0;
+        int write = 0;
+        try {
+            for (; read < size; read++) {
+                int value = elements[read];
+                if (!filter.test(value))
+                    elements[write++] = value;
+            }
+        } finally {
+            System.arraycopy(elements, read, elements, write, size - read);
+            size = write + size - read;
+        }
+        return size < oldSize;
+    }
+
+    /**
+        Remove the element at a given index
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public Integer remove(int index) {
+        return removeInt(index);
+    }
+
+    /**
+        Remove the element at a given index without boxing
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public int removeInt(int index) {
+        checkIndex(index);
+        int val = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return val;
+    }
+
+    /**
+        Resize the length of the array 'elements' to the size of the list
+        Time complexity: O(n) if trimming needed
+     */
+    public void trimToSize() {
+        if (size != elements.length)
+            elements = Arrays.copyOf(elements, size);
+    }
+
+    /**
+        Grow the length of the array 'elements' by 1.5 until it can hold minCapacity elements
+        @param minCapacity the number of elements the array must be able to hold
+        Time complexity: O(n) if the size reaches the capacity
+    */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            int newCap = Math.max(elements.length + (elements.length >> 1), minCapacity);
+            elements = Arrays.copyOf(elements, newCap);
+        }
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object pointing to the first element the list
+        Time complexity: O(1)
+     */
+    public Iterator<Integer> iterator() {
+        return new IntIterator();
+    }
+
+    /**
+        Iterator over the int values of the list without boxing
+        @return primitive iterator pointing to the first element the list
+        Time complexity: O(1)
+     */
+    public PrimitiveIterator.OfInt intIterator() {
+        return new IntIterator();
+    }
+
+    /**
+        Inner class to implement the interface PrimitiveIterator.OfInt
+     */
+    private class IntIterator implements PrimitiveIterator.OfInt {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws NoSuchElementException if current is out of bounds
+            Time complexity: O(1)
+         */
+        public int nextInt() {
+            if (current >= size)
+                throw new NoSuchElementException("No more elements");
+            return elements[current++];
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(elements[i]).append(" ");
+        if (size > 0)
+            output.append(elements[size - 1]);
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list
+        Another IntArrayList is copied in one block without boxing
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(n)
+     */
+    public boolean addAll(Collection<Integer> c) {
+        if (c instanceof IntArrayList) {
+            IntArrayList other = (IntArrayList) c;
+            int count = other.size;
+            ensureCapacity(size + count);
+            System.arraycopy(other.elements, 0, elements, size, count);
+            size += count;
+            return count != 0;
+        }
+        ensureCapacity(size + c.size());
+        boolean modified = false;
+        for (Iterator<Integer> iterator = c.iterator(); iterator.hasNext();) {
+            addInt(iterator.next());
+            modified = true;
+        }
+        return modified;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is a List holding equal Integer values in the same order
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (o instanceof IntArrayList) {
+            IntArrayList other = (IntArrayList) o;
+            return Arrays.equals(elements, 0, size, other.elements, 0, other.size);
+        }
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            Object other = iter.next();
+            if (!(other instanceof Integer) || (Integer) other != elements[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        if (!(o instanceof Integer))
+            return -1;
+        return indexOfInt((Integer) o);
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified value in this list without boxing
+        @param value the value to search for
+        @return the index of the first occurrence of value, or -1 if this list does not contain it
+        Time complexity: O(n)
+     */
+    public int indexOfInt(int value) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        if (!(o instanceof Integer))
+            return -1;
+        return lastIndexOfInt((Integer) o);
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified value in this list without boxing
+        @param value the value to search for
+        @return the index of the last occurrence of value, or -1 if this list does not contain it
+        Time complexity: O(n)
+     */
+    public int lastIndexOfInt(int value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == value)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array of boxed Integer values in proper sequence
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++)
+            array[i] = elements[i];
+        return array;
+    }
+
+    /**
+        Returns an int array containing all of the values in this list in proper sequence
+        @return an int array holding a copy of the values in this list
+        Time complexity: O(n)
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        A null Comparator sorts the values in ascending order without boxing
+        @param c the Comparator used to compare list elements, or null for natural ordering
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<Integer> c) {
+        if (c == null) {
+            sort();
+            return;
+        }
+        Integer[] boxed = new Integer[size];
+        for (int i = 0; i < size; i++)
+            boxed[i] = elements[i];
+        Arrays.sort(boxed, c);
+        for (int i = 0; i < size; i++)
+            elements[i] = boxed[i];
+    }
+
+    /**
+        Sorts the values of this list in ascending order without boxing
+        Time complexity: O(n log n)
+     */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+}
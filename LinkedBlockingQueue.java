@@ -0,0 +1,698 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * LinkedBlockingQueue Generic Class
+ * A bounded FIFO hand-off queue between producer and consumer threads, built on a chain
+ * of nodes like LinkedList and guarded by ReentrantLock and Condition, so waiting threads
+ * park through the lock instead of holding a monitor and do not pin a carrier thread.
+ *
+ * It is the two-lock queue of M. Michael and M. Scott, "Simple, Fast, and Practical
+ * Non-Blocking and Blocking Concurrent Queue Algorithms" (PODC 1996): producers link
+ * behind tail under putLock, consumers unlink after a dummy head node under takeLock,
+ * and the count is atomic, so a producer and a consumer never wait for each other.
+ * A thread is signaled only when the queue stops being empty or full, and each woken
+ * thread signals the next one while there is still something to take or room to put.
+ *
+ * putAll and drainTo move many elements per lock acquisition: putAll links a chain built
+ * before taking the lock, and drainTo detaches a run of nodes and hands their values to
+ * the target collection after releasing it.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ * @param <E> the type of elements in this queue
+ */
+public class LinkedBlockingQueue<E> implements Collection<E> {
+    // Data members: dummy node before the first element, and the last node
+    private Node<E> head, tail;
+    // Data member: number of elements in the queue, read without either lock
+    private final AtomicInteger count = new AtomicInteger();
+    // Data member: maximum number of elements in the queue
+    private final int capacity;
+    // Data members: the lock of the consumers, with the condition they wait on while the queue is empty
+    private final ReentrantLock takeLock = new ReentrantLock();
+    private final Condition notEmpty = takeLock.newCondition();
+    // Data members: the lock of the producers, with the condition they wait on while the queue is full
+    private final ReentrantLock putLock = new ReentrantLock();
+    private final Condition notFull = putLock.newCondition();
+
+    /**
+     * Inner class Node
+     */
+    private static class Node<E> {
+        E value;
+        Node<E> next;
+
+        Node(E initialValue) {
+            value = initialValue;
+        }
+    }
+
+    /**
+     * Default Constructor
+     * creates an empty queue without a practical bound
+     * Time complexity: O(1)
+     */
+    public LinkedBlockingQueue() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructor with the capacity of the queue
+     *
+     * @param capacity the maximum number of elements in the queue
+     * @throws IllegalArgumentException if capacity < 1
+     * Time complexity: O(1)
+     */
+    public LinkedBlockingQueue(int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        this.capacity = capacity;
+        head = tail = new Node<>(null);
+    }
+
+    /**
+     * Get the number of elements in the queue
+     *
+     * @return the number of elements at the moment of the call
+     * Time complexity: O(1)
+     */
+    public int size() {
+        return count.get();
+    }
+
+    /**
+     * Check if the queue is empty
+     *
+     * @return true if the queue is empty
+     * Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return count.get() == 0;
+    }
+
+    /**
+     * @return the number of elements that can be added without blocking
+     * Time complexity: O(1)
+     */
+    public int remainingCapacity() {
+        return capacity - count.get();
+    }
+
+    /**
+     * Remove all elements and wake a thread waiting for room
+     * Time complexity: O(n)
+     */
+    public void clear() {
+        fullyLock();
+        try {
+            for (Node<E> node = head.next; node != null; node = node.next)
+                node.value = null;
+            head.next = null;
+            tail = head;
+            if (count.getAndSet(0) == capacity)
+                notFull.signal();
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Adding a value at the tail of the queue without waiting
+     *
+     * @param item the value to be added
+     * @return true if the value was added
+     * @throws IllegalStateException if the queue is full
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1)
+     */
+    public boolean add(E item) {
+        if (!offer(item))
+            throw new IllegalStateException("Queue full");
+        return true;
+    }
+
+    /**
+     * Adding a value at the tail of the queue if there is room
+     *
+     * @param item the value to be added
+     * @return true if the value was added, false if the queue is full
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1)
+     */
+    public boolean offer(E item) {
+        Node<E> node = new Node<>(checkNotNull(item));
+        if (count.get() == capacity)
+            return false;
+        int c = -1;
+        putLock.lock();
+        try {
+            if (count.get() < capacity) {
+                c = enqueue(node, node, 1);
+            }
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0)
+            signalNotEmpty();
+        return c >= 0;
+    }
+
+    /**
+     * Adding a value at the tail of the queue, waiting up to a timeout for room
+     *
+     * @param item the value to be added
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return true if the value was added, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1) plus the wait
+     */
+    public boolean offer(E item, long timeout, TimeUnit unit) throws InterruptedException {
+        Node<E> node = new Node<>(checkNotNull(item));
+        long nanos = unit.toNanos(timeout);
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity) {
+                if (nanos <= 0)
+                    return false;
+                nanos = notFull.awaitNanos(nanos);
+            }
+            c = enqueue(node, node, 1);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0)
+            signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * Adding a value at the tail of the queue, waiting for room if necessary
+     *
+     * @param item the value to be added
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if item is null
+     * Time complexity: O(1) plus the wait
+     */
+    public void put(E item) throws InterruptedException {
+        Node<E> node = new Node<>(checkNotNull(item));
+        int c;
+        putLock.lockInterruptibly();
+        try {
+            while (count.get() == capacity)
+                notFull.await();
+            c = enqueue(node, node, 1);
+        } finally {
+            putLock.unlock();
+        }
+        if (c == 0)
+            signalNotEmpty();
+    }
+
+    /**
+     * Adding all values of a collection at the tail of the queue in order, waiting for
+     * room if necessary. The nodes are built before the lock is taken, and each lock
+     * acquisition links as many of them as there is room for.
+     * If the thread is interrupted, the values linked so far stay in the queue.
+     *
+     * @param c the collection containing the values to be added
+     * @return the number of values added
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * @throws NullPointerException if c contains null
+     * Time complexity: O(m) where m is the size of c, plus the waits
+     */
+    public int putAll(Collection<E> c) throws InterruptedException {
+        Node<E> first = null;
+        Node<E> last = null;
+        int remaining = 0;
+        for (Iterator<E> iter = c.iterator(); iter.hasNext();) {
+            Node<E> node = new Node<>(checkNotNull(iter.next()));
+            if (last == null)
+                first = node;
+            else
+                last.next = node;
+            last = node;
+            remaining++;
+        }
+        int added = 0;
+        while (remaining > 0) {
+            int before;
+            putLock.lockInterruptibly();
+            try {
+                while (count.get() == capacity)
+                    notFull.await();
+                int batch = Math.min(remaining, capacity - count.get());
+                Node<E> end = first;
+                for (int i = 1; i < batch; i++)
+                    end = end.next;
+                Node<E> rest = end.next;
+                end.next = null;
+                before = enqueue(first, end, batch);
+                first = rest;
+                remaining -= batch;
+                added += batch;
+            } finally {
+                putLock.unlock();
+            }
+            if (before == 0)
+                signalNotEmpty();
+        }
+        return added;
+    }
+
+    /**
+     * Adds all of the elements in the specified collection at the tail of this queue
+     * without waiting, one lock acquisition per element
+     *
+     * @param c the collection containing elements to be added
+     * @return true if this queue changed as a result of the call
+     * @throws IllegalStateException if the queue becomes full
+     * Time complexity: O(m) where m is the size of c
+     */
+    public boolean addAll(Collection<E> c) {
+        boolean modified = false;
+        for (Iterator<E> iter = c.iterator(); iter.hasNext();) {
+            add(iter.next());
+            modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * Removing the value at the head of the queue without waiting
+     *
+     * @return the value at the head, or null if the queue is empty
+     * Time complexity: O(1)
+     */
+    public E poll() {
+        if (count.get() == 0)
+            return null;
+        E value = null;
+        int c = -1;
+        takeLock.lock();
+        try {
+            if (count.get() > 0) {
+                value = dequeue();
+                c = count.getAndDecrement();
+                if (c > 1)
+                    notEmpty.signal();
+            }
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity)
+            signalNotFull();
+        return value;
+    }
+
+    /**
+     * Removing the value at the head of the queue, waiting up to a timeout for one
+     *
+     * @param timeout how long to wait, in units of unit
+     * @param unit the unit of timeout
+     * @return the value at the head, or null if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * Time complexity: O(1) plus the wait
+     */
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        E value;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0) {
+                if (nanos <= 0)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            value = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1)
+                notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity)
+            signalNotFull();
+        return value;
+    }
+
+    /**
+     * Removing the value at the head of the queue, waiting for one if necessary
+     *
+     * @return the value at the head
+     * @throws InterruptedException if the thread is interrupted while waiting
+     * Time complexity: O(1) plus the wait
+     */
+    public E take() throws InterruptedException {
+        E value;
+        int c;
+        takeLock.lockInterruptibly();
+        try {
+            while (count.get() == 0)
+                notEmpty.await();
+            value = dequeue();
+            c = count.getAndDecrement();
+            if (c > 1)
+                notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (c == capacity)
+            signalNotFull();
+        return value;
+    }
+
+    /**
+     * Get the value at the head of the queue without removing it
+     *
+     * @return the value at the head, or null if the queue is empty
+     * Time complexity: O(1)
+     */
+    public E peek() {
+        if (count.get() == 0)
+            return null;
+        takeLock.lock();
+        try {
+            Node<E> first = head.next;
+            return (first == null) ? null : first.value;
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Remove every available value and add them to a collection
+     *
+     * @param c the collection receiving the values
+     * @return the number of values moved
+     * Time complexity: O(n)
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Remove up to max available values without waiting and add them to a collection
+     * in queue order. The nodes are detached under one acquisition of takeLock and the
+     * values are added to c after the lock is released.
+     *
+     * @param c the collection receiving the values
+     * @param max the largest number of values to move
+     * @return the number of values moved
+     * @throws IllegalArgumentException if c is this queue
+     * Time complexity: O(min(n, max))
+     */
+    public int drainTo(Collection<? super E> c, int max) {
+        if (c == this)
+            throw new IllegalArgumentException("Cannot drain a queue to itself");
+        if (max <= 0 || count.get() == 0)
+            return 0;
+        Node<E> first;
+        E lastValue;
+        int moved;
+        int before;
+        takeLock.lock();
+        try {
+            moved = Math.min(count.get(), max);
+            if (moved == 0)
+                return 0;
+            // the last node moved becomes the new dummy head, so its value is kept aside
+            first = head.next;
+            Node<E> end = first;
+            for (int i = 1; i < moved; i++)
+                end = end.next;
+            lastValue = end.value;
+            end.value = null;
+            head = end;
+            before = count.getAndAdd(-moved);
+            if (before > moved)
+                notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+        if (before == capacity)
+            signalNotFull();
+        Node<E> node = first;
+        for (int i = 1; i < moved; i++, node = node.next)
+            c.add(node.value);
+        c.add(lastValue);
+        return moved;
+    }
+
+    /**
+     * Remove the first occurrence of an object from the queue
+     *
+     * @param o the object to be removed
+     * @return true if o was found and removed, false if o not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        fullyLock();
+        try {
+            for (Node<E> prev = head, node = head.next; node != null; prev = node, node = node.next) {
+                if (node.value.equals(o)) {
+                    prev.next = node.next;
+                    if (node == tail)
+                        tail = prev;
+                    node.value = null;
+                    if (count.getAndDecrement() == capacity)
+                        notFull.signal();
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * Remove every value that satisfies a predicate, unlinking the nodes in one traversal
+     * under both locks, and wake a waiting putter if the queue was full.
+     * If the predicate throws, the values it did not test are kept
+     *
+     * @param filter a predicate which returns true for the values to be removed
+     * @return true if any values were removed
+     * Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        int removed = 0;
+        fullyLock();
+        try {
+            Node<E> prev = head;
+            for (Node<E> node = head.next; node != null; node = node.next) {
+                if (filter.test(node.value)) {
+                    prev.next = node.next;
+                    if (node == tail)
+                        tail = prev;
+                    node.value = null;
+                    removed++;
+                } else {
+                    prev = node;
+                }
+            }
+        } finally {
+            if (removed > 0 && count.getAndAdd(-removed) == capacity)
+                notFull.signal();
+            fullyUnlock();
+        }
+        return removed > 0;
+    }
+
+    /**
+     * Linear search method
+     *
+     * @param o the object being searched
+     * @return true if o was found in this queue, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        fullyLock();
+        try {
+            for (Node<E> node = head.next; node != null; node = node.next) {
+                if (node.value.equals(o))
+                    return true;
+            }
+            return false;
+        } finally {
+            fullyUnlock();
+        }
+    }
+
+    /**
+     * toString method
+     *
+     * @return a formatted string that contains the values in the queue at the moment of the call
+     * Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        String separator = "";
+        for (Iterator<E> iter = iterator(); iter.hasNext();) {
+            output.append(separator).append(iter.next());
+            separator = " ";
+        }
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+     * iterator method
+     * The iterator walks a copy of the values taken under both locks, so it never throws
+     * ConcurrentModificationException and does not reflect later changes
+     *
+     * @return an iterator over the values in the queue at the moment of the call
+     * Time complexity: O(n)
+     */
+    public Iterator<E> iterator() {
+        Object[] values;
+        fullyLock();
+        try {
+            values = new Object[count.get()];
+            int i = 0;
+            for (Node<E> node = head.next; node != null; node = node.next)
+                values[i++] = node.value;
+        } finally {
+            fullyUnlock();
+        }
+        return new QueueIterator(values);
+    }
+
+    /**
+     * Inner class that implements the interface Iterator over a copy of the values
+     */
+    private class QueueIterator implements Iterator<E> {
+        private final Object[] values;
+        private int index;
+
+        QueueIterator(Object[] values) {
+            this.values = values;
+        }
+
+        /**
+         * hasNext method
+         *
+         * @return true if there are values left in the copy
+         * Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return index < values.length;
+        }
+
+        /**
+         * next method
+         *
+         * @return the next value of the copy
+         * @throws NoSuchElementException if there are no values left
+         * Time complexity: O(1)
+         */
+        public E next() {
+            if (index >= values.length)
+                throw new NoSuchElementException();
+            return (E) values[index++];
+        }
+    }
+
+    /**
+     * Link a chain of nodes behind tail and wake the next waiting putter if room is
+     * left; the caller holds putLock and has checked that there is room
+     *
+     * @param first the first node of the chain
+     * @param last the last node of the chain, whose next is null
+     * @param length the number of nodes in the chain
+     * @return the number of elements before the chain was linked
+     * Time complexity: O(1)
+     */
+    private int enqueue(Node<E> first, Node<E> last, int length) {
+        tail.next = first;
+        tail = last;
+        int before = count.getAndAdd(length);
+        if (before + length < capacity)
+            notFull.signal();
+        return before;
+    }
+
+    /**
+     * Unlink the first node, which becomes the new dummy head; the caller holds
+     * takeLock and has checked that the queue is not empty
+     *
+     * @return the value of the first node
+     * Time complexity: O(1)
+     */
+    private E dequeue() {
+        Node<E> first = head.next;
+        head.next = null;
+        head = first;
+        E value = first.value;
+        first.value = null;
+        return value;
+    }
+
+    /**
+     * Wake one waiting taker after the queue stopped being empty; called by a
+     * producer that does not hold takeLock
+     * Time complexity: O(1)
+     */
+    private void signalNotEmpty() {
+        takeLock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            takeLock.unlock();
+        }
+    }
+
+    /**
+     * Wake one waiting putter after the queue stopped being full; called by a
+     * consumer that does not hold putLock
+     * Time complexity: O(1)
+     */
+    private void signalNotFull() {
+        putLock.lock();
+        try {
+            notFull.signal();
+        } finally {
+            putLock.unlock();
+        }
+    }
+
+    /**
+     * Lock both ends of the queue, always putLock first, for operations that walk
+     * or change the middle of the chain
+     * Time complexity: O(1)
+     */
+    private void fullyLock() {
+        putLock.lock();
+        takeLock.lock();
+    }
+
+    /**
+     * Release both locks taken by fullyLock
+     * Time complexity: O(1)
+     */
+    private void fullyUnlock() {
+        takeLock.unlock();
+        putLock.unlock();
+    }
+
+    /**
+     * @param item the value to check
+     * @return item
+     * @throws NullPointerException if item is null, since poll uses null to report an empty queue
+     * Time complexity: O(1)
+     */
+    private static <E> E checkNotNull(E item) {
+        if (item == null)
+            throw new NullPointerException("A LinkedBlockingQueue does not hold null");
+        return item;
+    }
+}
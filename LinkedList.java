@@ -1,6 +1,15 @@
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.NoSuchElementException;
-import java.util.Arrays;
 import java.util.Comparator;
 
 /**
@@ -14,6 +23,18 @@ public class LinkedList<E> implements List<E> {
     // Data members
     private Node head, tail;
     private int size;
+    // last node reached by index and its index, so sequential and nearby lookups are O(1)
+    private Node finger;
+    private int fingerIndex;
+    // number of structural modifications, checked by iterators and spliterators
+    private int modCount;
+    // free list of detached nodes, chained through next, reused by new insertions
+    private Node pool;
+    private int poolSize;
+    // maximum number of nodes kept in the pool, 0 disables node recycling
+    private int poolCapacity;
+    // operation counters, null unless enableMetrics() was called
+    private ListMetrics metrics;
 
     /**
      * Inner class Node
@@ -40,6 +61,58 @@ public class LinkedList<E> implements List<E> {
         size = 0;
     }
 
+    /**
+     * Constructor with node recycling
+     * creates an empty linked list that keeps up to poolCapacity removed nodes
+     * and reuses them for later insertions instead of allocating new ones
+     *
+     * @param poolCapacity maximum number of nodes kept for reuse, 0 disables recycling
+     * @throws IllegalArgumentException if poolCapacity < 0
+     * Time complexity: O(1)
+     */
+    public LinkedList(int poolCapacity) {
+        this();
+        setNodePoolCapacity(poolCapacity);
+    }
+
+    /**
+     * Set the maximum number of removed nodes kept for reuse
+     * Lowering the capacity releases the extra pooled nodes
+     *
+     * @param poolCapacity maximum number of nodes kept for reuse, 0 disables recycling
+     * @throws IllegalArgumentException if poolCapacity < 0
+     * Time complexity: O(1), O(k) if k pooled nodes are released
+     */
+    public void setNodePoolCapacity(int poolCapacity) {
+        if (poolCapacity < 0)
+            throw new IllegalArgumentException("Pool capacity must not be negative");
+        this.poolCapacity = poolCapacity;
+        while (poolSize > poolCapacity) {
+            pool = pool.next;
+            poolSize--;
+        }
+    }
+
+    /**
+     * Get the maximum number of removed nodes kept for reuse
+     *
+     * @return the capacity of the node pool, 0 if recycling is disabled
+     * Time complexity: O(1)
+     */
+    public int getNodePoolCapacity() {
+        return poolCapacity;
+    }
+
+    /**
+     * Get the number of removed nodes currently waiting for reuse
+     *
+     * @return the number of nodes in the pool
+     * Time complexity: O(1)
+     */
+    public int getNodePoolSize() {
+        return poolSize;
+    }
+
     /**
      * Get the number of nodes in the list
      *
@@ -52,11 +125,20 @@ public class LinkedList<E> implements List<E> {
 
     /**
      * Clear the list by resetting size to 0 and head and tail to null
-     * Time complexity: O(1)
+     * When node recycling is enabled, removed nodes are returned to the pool until it is full
+     * Time complexity: O(1), O(k) if k nodes are returned to the pool
      */
     public void clear() {
+        Node current = head;
+        while (current != null && poolSize < poolCapacity) {
+            Node next = current.next;
+            recycle(current);
+            current = next;
+        }
         head = tail = null;
+        finger = null;
         size = 0;
+        modCount++;
     }
 
     /**
@@ -89,14 +171,7 @@ public class LinkedList<E> implements List<E> {
      * Time complexity: O(n)
      */
     public boolean contains(Object o) {
-        Iterator<E> iter = iterator();
-        while (iter.hasNext()) {
-            E element = iter.next();
-            if (element.equals(o)) {
-                return true;
-            }
-        }
-        return false;
+        return indexOf(o) >= 0;
     }
 
     /**
@@ -107,15 +182,7 @@ public class LinkedList<E> implements List<E> {
      * Time complexity: O(1)
      */
     public boolean addFirst(E value) {
-        Node newNode = new Node(value);
-        if (head == null) {
-            head = tail = newNode;
-        } else {
-            newNode.next = head;
-            head.prev = newNode;
-            head = newNode;
-        }
-        size++;
+        linkBefore(value, head, 0);
         return true;
     }
 
@@ -127,15 +194,7 @@ public class LinkedList<E> implements List<E> {
      * Time complexity: O(1)
      */
     public boolean addLast(E item) {
-        Node newNode = new Node(item);
-        if (head == null) {
-            head = tail = newNode;
-        } else {
-            tail.next = newNode;
-            newNode.prev = tail;
-            tail = newNode;
-        }
-        size++;
+        linkBefore(item, null, size);
         return true;
     }
 
@@ -146,28 +205,13 @@ public class LinkedList<E> implements List<E> {
      * @param item  the value of the element to be added
      * @return true if item was added successfully, false otherwise
      * @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
-     * Time complexity: O(n)
+     * Time complexity: O(n), O(1) for indexes next to the previous lookup
      */
     public void add(int index, E item) {
         if (index < 0 || index > size) {
             throw new ArrayIndexOutOfBoundsException();
         }
-        if (index == 0) {
-            addFirst(item);
-        } else if (index == size) {
-            addLast(item);
-        } else {
-            Node current = head;
-            for (int i = 0; i < index; i++) {
-                current = current.next;
-            }
-            Node newNode = new Node(item);
-            newNode.prev = current.prev;
-            newNode.next = current;
-            current.prev.next = newNode;
-            current.prev = newNode;
-            size++;
-        }
+        linkBefore(item, index == size ? null : node(index), index);
     }
 
     /**
@@ -206,14 +250,7 @@ public class LinkedList<E> implements List<E> {
     public E removeFirst() {
         if (head == null)
             throw new NoSuchElementException();
-        E value = head.value;
-        head = head.next;
-        if (head == null)
-            tail = null;
-        else
-            head.prev = null;
-        size--;
-        return value;
+        return unlink(head, 0);
     }
 
     /**
@@ -221,19 +258,12 @@ public class LinkedList<E> implements List<E> {
      *
      * @return the value of the removed node
      * @throws NoSuchElementException if the list is empty
-     * Time complexity: O(n)
+     * Time complexity: O(1)
      */
     public E removeLast() {
         if (tail == null)
             throw new NoSuchElementException();
-        E value = tail.value;
-        tail = tail.prev;
-        if (tail == null)
-            head = null;
-        else
-            tail.next = null;
-        size--;
-        return value;
+        return unlink(tail, size - 1);
     }
 
     /**
@@ -245,24 +275,44 @@ public class LinkedList<E> implements List<E> {
      */
     public boolean remove(Object o) {
         Node current = head;
+        int index = 0;
         while (current != null) {
             if (current.value.equals(o)) {
-                if (current == head)
-                    removeFirst();
-                else if (current == tail)
-                    removeLast();
-                else {
-                    current.prev.next = current.next;
-                    current.next.prev = current.prev;
-                    size--;
-                }
+                countSearch(index + 1);
+                unlink(current, index);
                 return true;
             }
             current = current.next;
+            index++;
         }
+        countSearch(size);
         return false;
     }
 
+    /**
+     * Remove every element that satisfies a predicate, unlinking the nodes in one traversal
+     *
+     * @param filter a predicate which returns true for the elements to be removed
+     * @return true if any elements were removed
+     * Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Node current = head;
+        int index = 0;
+        boolean removed = false;
+        while (current != null) {
+            Node next = current.next;
+            if (filter.test(current.value)) {
+                unlink(current, index);
+                removed = true;
+            } else {
+                index++;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
     /**
      * toString method
      *
@@ -270,14 +320,31 @@ public class LinkedList<E> implements List<E> {
      * Time complexity: O(n)
      */
     public String toString() {
-        StringBuilder output = new StringBuilder("[");
-        Node node = head;
-        while (node.next != null) {
-            output.append(node.value).append(" ");
-            node = node.next;
-        }
-        output.append(node.value).append("]");
-        return output.toString();
+        return toString(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Format at most maxElements elements of the list, for logging large lists
+     *
+     * @param maxElements the number of elements to show
+     * @return a formatted string such as [6 11 25 ... 12 more] when elements are left out
+     * @throws IllegalArgumentException if maxElements < 0
+     * Time complexity: O(min(n, maxElements))
+     */
+    public String toString(int maxElements) {
+        return ListText.format(iterator(), size, maxElements);
+    }
+
+    /**
+     * Write the list in the format of toString() to a Writer or any other Appendable,
+     * without building the whole string
+     *
+     * @param out the destination of the text, it is neither flushed nor closed
+     * @throws IOException if out fails
+     * Time complexity: O(n)
+     */
+    public void writeTo(Appendable out) throws IOException {
+        ListText.write(iterator(), size, out, Integer.MAX_VALUE);
     }
 
     /**
@@ -287,14 +354,320 @@ public class LinkedList<E> implements List<E> {
      * Time complexity: O(1)
      */
     public Iterator<E> iterator() {
-        return new LinkedListIterator();
+        return new LinkedListIterator(head, 0);
+    }
+
+    /**
+     * listIterator method
+     *
+     * @return a list iterator positioned before the first value in the list
+     * Time complexity: O(1)
+     */
+    public ListIterator<E> listIterator() {
+        return new LinkedListIterator(head, 0);
+    }
+
+    /**
+     * listIterator method
+     *
+     * @param index the index of the first value to be returned by next()
+     * @return a list iterator positioned before the value at index
+     * @throws IndexOutOfBoundsException if index < 0 or index > size
+     * Time complexity: O(n), O(1) for indexes next to the previous lookup
+     */
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException(index);
+        return new LinkedListIterator(index == size ? null : node(index), index);
+    }
+
+    /**
+     * Inner class for a view of a range of the list. Every operation checks that the list
+     * was changed only through this view or the views it was taken from, and structural
+     * changes update the size of each of those views.
+     */
+    private class SubList implements List<E> {
+        // the view this one was taken from, or null for a view of the list itself
+        private final SubList parent;
+        // position of the first element of the view in the list
+        private final int offset;
+        // number of elements in the view
+        private int size;
+        // modCount of the list when the view was last changed or created
+        private int expectedModCount = modCount;
+
+        SubList(SubList parent, int offset, int size) {
+            this.parent = parent;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public E get(int index) {
+            checkIndex(index);
+            return LinkedList.this.get(offset + index);
+        }
+
+        public E set(int index, E newVal) {
+            checkIndex(index);
+            return LinkedList.this.set(offset + index, newVal);
+        }
+
+        public boolean add(E item) {
+            add(size, item);
+            return true;
+        }
+
+        public void add(int index, E item) {
+            checkForComodification();
+            if (index < 0 || index > size)
+                throw new ArrayIndexOutOfBoundsException();
+            LinkedList.this.add(offset + index, item);
+            resized(1);
+        }
+
+        public boolean addAll(Collection<E> c) {
+            return addAll(size, c);
+        }
+
+        public boolean addAll(int index, Collection<E> c) {
+            checkForComodification();
+            if (index < 0 || index > size)
+                throw new ArrayIndexOutOfBoundsException();
+            int before = LinkedList.this.size;
+            boolean changed = LinkedList.this.addAll(offset + index, c);
+            resized(LinkedList.this.size - before);
+            return changed;
+        }
+
+        public E remove(int index) {
+            checkIndex(index);
+            E value = LinkedList.this.remove(offset + index);
+            resized(-1);
+            return value;
+        }
+
+        public boolean remove(Object o) {
+            int index = indexOf(o);
+            if (index < 0)
+                return false;
+            remove(index);
+            return true;
+        }
+
+        /**
+         * Remove every element of the view that satisfies a predicate in one traversal
+         *
+         * Time complexity: O(k) where k is the size of the view, plus O(n) to find its first node
+         */
+        public boolean removeIf(Predicate<? super E> filter) {
+            checkForComodification();
+            int removed = 0;
+            try {
+                Node current = (size == 0) ? null : node(offset);
+                for (int i = 0; i < size; i++) {
+                    Node next = current.next;
+                    if (filter.test(current.value)) {
+                        unlink(current, offset + i - removed);
+                        removed++;
+                    }
+                    current = next;
+                }
+            } finally {
+                resized(-removed);
+            }
+            return removed > 0;
+        }
+
+        /**
+         * Remove the elements of the view from the list with a single relink
+         *
+         * Time complexity: O(k) where k is the size of the view, plus O(n) to find its first node
+         */
+        public void clear() {
+            checkForComodification();
+            removeRange(offset, offset + size);
+            resized(-size);
+        }
+
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+
+        public int indexOf(Object o) {
+            checkForComodification();
+            Node current = (size == 0) ? null : node(offset);
+            for (int i = 0; i < size; i++) {
+                if (current.value.equals(o)) {
+                    countSearch(i + 1);
+                    return i;
+                }
+                current = current.next;
+            }
+            countSearch(size);
+            return -1;
+        }
+
+        public int lastIndexOf(Object o) {
+            checkForComodification();
+            Node current = (size == 0) ? null : node(offset + size - 1);
+            for (int i = size - 1; i >= 0; i--) {
+                if (current.value.equals(o)) {
+                    countSearch(size - i);
+                    return i;
+                }
+                current = current.prev;
+            }
+            countSearch(size);
+            return -1;
+        }
+
+        /**
+         * Sort the view in place by relinking its nodes, like sort(c) on the list
+         *
+         * Time complexity: O(k log r) where k is the size of the view and r its number of runs
+         */
+        public void sort(Comparator<E> c) {
+            checkForComodification();
+            if (size > 1) {
+                LinkedList.this.sort(node(offset), node(offset + size - 1), c);
+                resized(0);
+            }
+        }
+
+        public Object[] toArray() {
+            checkForComodification();
+            Object[] array = new Object[size];
+            Node current = (size == 0) ? null : node(offset);
+            for (int i = 0; i < size; i++) {
+                array[i] = current.value;
+                current = current.next;
+            }
+            return array;
+        }
+
+        public Iterator<E> iterator() {
+            checkForComodification();
+            return new SubListIterator();
+        }
+
+        /**
+         * @return a view of a range of this view, which writes through to this view
+         * Time complexity: O(1)
+         */
+        public List<E> subList(int from, int to) {
+            checkForComodification();
+            checkRange(from, to, size);
+            return new SubList(this, offset + from, to - from);
+        }
+
+        public boolean equals(Object o) {
+            checkForComodification();
+            if (o == this)
+                return true;
+            if (!(o instanceof List))
+                return false;
+            List<?> list = (List<?>) o;
+            if (list.size() != size)
+                return false;
+            Iterator<?> iter = list.iterator();
+            for (Iterator<E> it = iterator(); it.hasNext();) {
+                if (!it.next().equals(iter.next()))
+                    return false;
+            }
+            return true;
+        }
+
+        public String toString() {
+            return ListText.format(iterator(), size, Integer.MAX_VALUE);
+        }
+
+        /**
+         * Record a structural change of delta elements made through this view
+         *
+         * Time complexity: O(d) where d is the number of views this one was taken from
+         */
+        private void resized(int delta) {
+            for (SubList view = this; view != null; view = view.parent) {
+                view.size += delta;
+                view.expectedModCount = modCount;
+            }
+        }
+
+        private void checkIndex(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size)
+                throw new IndexOutOfBoundsException(index);
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+         * Inner class to iterate over the nodes of the view; removals go through the view
+         */
+        private class SubListIterator implements Iterator<E> {
+            // node returned by the next call to next()
+            private Node current = (size == 0) ? null : node(offset);
+            // node returned by the last call to next(), null after remove
+            private Node lastReturned;
+            // index in the view of the node referenced by current
+            private int index;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            public E next() {
+                checkForComodification();
+                if (index >= size)
+                    throw new NoSuchElementException();
+                lastReturned = current;
+                current = current.next;
+                index++;
+                return lastReturned.value;
+            }
+
+            public void remove() {
+                if (lastReturned == null)
+                    throw new IllegalStateException();
+                checkForComodification();
+                index--;
+                unlink(lastReturned, offset + index);
+                lastReturned = null;
+                resized(-1);
+            }
+        }
     }
 
     /**
-     * Inner class that implements the interface Iterator
+     * Inner class that implements the interface ListIterator
+     * remove, add and set relink or update nodes in place in O(1)
      */
-    private class LinkedListIterator implements Iterator<E> {
-        private Node current = head;
+    private class LinkedListIterator implements ListIterator<E> {
+        // node returned by the next call to next(), null at the end of the list
+        private Node current;
+        // node returned by the last call to next() or previous(), null after remove or add
+        private Node lastReturned;
+        // index of the node referenced by current
+        private int index;
+        // modCount of the list when this iterator last changed it
+        private int expectedModCount = modCount;
+
+        LinkedListIterator(Node start, int startIndex) {
+            current = start;
+            index = startIndex;
+        }
 
         /**
          * hasNext method
@@ -315,11 +688,233 @@ public class LinkedList<E> implements List<E> {
          * Time complexity: O(1)
          */
         public E next() {
+            checkForComodification();
             if (current == null)
                 throw new NoSuchElementException();
+            lastReturned = current;
+            current = current.next;
+            index++;
+            return lastReturned.value;
+        }
+
+        /**
+         * hasPrevious method
+         *
+         * @return true if there is a node before current
+         * Time complexity: O(1)
+         */
+        public boolean hasPrevious() {
+            return index > 0;
+        }
+
+        /**
+         * previous method
+         *
+         * @return the value of the node before current and
+         * modifies current to hold the reference of that node
+         * @throws NoSuchElementException if there is no node before current
+         * Time complexity: O(1)
+         */
+        public E previous() {
+            checkForComodification();
+            if (index == 0)
+                throw new NoSuchElementException();
+            current = (current == null) ? tail : current.prev;
+            lastReturned = current;
+            index--;
+            return current.value;
+        }
+
+        /**
+         * @return the index of the value returned by the next call to next()
+         * Time complexity: O(1)
+         */
+        public int nextIndex() {
+            return index;
+        }
+
+        /**
+         * @return the index of the value returned by the next call to previous()
+         * Time complexity: O(1)
+         */
+        public int previousIndex() {
+            return index - 1;
+        }
+
+        /**
+         * Unlink the node returned by the last call to next() or previous()
+         *
+         * @throws IllegalStateException if there is no such node
+         * Time complexity: O(1)
+         */
+        public void remove() {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            if (lastReturned == current) {
+                current = current.next;
+                unlink(lastReturned, index);
+            } else {
+                index--;
+                unlink(lastReturned, index);
+            }
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * Replace the value returned by the last call to next() or previous()
+         *
+         * @param value the new value
+         * @throws IllegalStateException if there is no such node
+         * Time complexity: O(1)
+         */
+        public void set(E value) {
+            if (lastReturned == null)
+                throw new IllegalStateException();
+            checkForComodification();
+            lastReturned.value = value;
+        }
+
+        /**
+         * Insert a value before the node referenced by current
+         *
+         * @param value the value to be inserted
+         * Time complexity: O(1)
+         */
+        public void add(E value) {
+            checkForComodification();
+            linkBefore(value, current, index);
+            index++;
+            lastReturned = null;
+            expectedModCount = modCount;
+        }
+
+        /**
+         * @throws ConcurrentModificationException if the list was changed other than through this iterator
+         * Time complexity: O(1)
+         */
+        private void checkForComodification() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+    }
+
+    /**
+     * spliterator method
+     *
+     * @return a late-binding, fail-fast spliterator over the values in the list
+     * Time complexity: O(1)
+     */
+    public Spliterator<E> spliterator() {
+        return new LinkedListSpliterator();
+    }
+
+    /**
+     * Inner class that implements the interface Spliterator
+     * Splits by copying a batch of values into an array, growing the batch by
+     * BATCH_UNIT each time so parallel streams get progressively larger chunks
+     */
+    private class LinkedListSpliterator implements Spliterator<E> {
+        private static final int BATCH_UNIT = 1 << 10;
+        private static final int MAX_BATCH = 1 << 25;
+        // next node to be traversed
+        private Node current;
+        // number of values left to traverse, -1 until first use
+        private int est = -1;
+        // modCount of the list when the spliterator was bound
+        private int expectedModCount;
+        // size of the last batch handed out by trySplit
+        private int batch;
+
+        /**
+         * Bind to the list on first use
+         *
+         * @return the number of values left to traverse
+         * Time complexity: O(1)
+         */
+        private int getEst() {
+            if (est < 0) {
+                current = head;
+                est = size;
+                expectedModCount = modCount;
+            }
+            return est;
+        }
+
+        /**
+         * @return a spliterator over the next batch of values, or null if none are left
+         * Time complexity: O(batch)
+         */
+        public Spliterator<E> trySplit() {
+            int s = getEst();
+            if (s <= 1 || current == null)
+                return null;
+            int n = Math.min(Math.min(batch + BATCH_UNIT, MAX_BATCH), s);
+            Object[] a = new Object[n];
+            int j = 0;
+            Node p = current;
+            while (j < n && p != null) {
+                a[j++] = p.value;
+                p = p.next;
+            }
+            current = p;
+            batch = j;
+            est = s - j;
+            return Spliterators.spliterator(a, 0, j, Spliterator.ORDERED);
+        }
+
+        /**
+         * @param action the action applied to the next value
+         * @return true if a value was traversed, false at the end of the list
+         * @throws ConcurrentModificationException if the list was structurally modified
+         * Time complexity: O(1)
+         */
+        public boolean tryAdvance(Consumer<? super E> action) {
+            if (getEst() <= 0 || current == null)
+                return false;
             E value = current.value;
             current = current.next;
-            return value;
+            est--;
+            action.accept(value);
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            return true;
+        }
+
+        /**
+         * @param action the action applied to each remaining value
+         * @throws ConcurrentModificationException if the list was structurally modified
+         * Time complexity: O(n)
+         */
+        public void forEachRemaining(Consumer<? super E> action) {
+            int n = getEst();
+            Node p = current;
+            current = null;
+            est = 0;
+            while (n-- > 0 && p != null) {
+                E value = p.value;
+                p = p.next;
+                action.accept(value);
+            }
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        /**
+         * @return the number of values left to traverse
+         * Time complexity: O(1)
+         */
+        public long estimateSize() {
+            return getEst();
+        }
+
+        /**
+         * @return ORDERED, SIZED and SUBSIZED
+         * Time complexity: O(1)
+         */
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
         }
     }
 
@@ -343,6 +938,115 @@ public class LinkedList<E> implements List<E> {
         return modified;
     }
 
+    /**
+     * Inserts all of the elements in the specified collection at a given position index,
+     * building the new nodes as one chain and splicing it in with a single relink
+     *
+     * @param index the position where the first element of c should be added
+     * @param c the collection containing elements to be added
+     * @return true if this list changed as a result of the call
+     * @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+     * Time complexity: O(m) where m is the size of c, plus O(n) to find index
+     */
+    public boolean addAll(int index, Collection<E> c) {
+        if (index < 0 || index > size)
+            throw new ArrayIndexOutOfBoundsException();
+        // the elements are copied first, so c may be this list or a view of it
+        Object[] values = new Object[c.size()];
+        int count = 0;
+        for (Iterator<E> iterator = c.iterator(); iterator.hasNext();)
+            values[count++] = iterator.next();
+        if (count == 0)
+            return false;
+        Node succ = (index == size) ? null : node(index);
+        Node pred = (succ == null) ? tail : succ.prev;
+        Node first = null;
+        Node last = null;
+        for (int i = 0; i < count; i++) {
+            Node node = newNode((E) values[i]);
+            node.prev = last;
+            if (last == null)
+                first = node;
+            else
+                last.next = node;
+            last = node;
+        }
+        if (pred == null)
+            head = first;
+        else
+            pred.next = first;
+        first.prev = pred;
+        last.next = succ;
+        if (succ == null)
+            tail = last;
+        else
+            succ.prev = last;
+        if (finger != null && fingerIndex >= index)
+            fingerIndex += count;
+        size += count;
+        modCount++;
+        if (metrics != null)
+            metrics.adds += count;
+        return true;
+    }
+
+    /**
+     * Remove the elements from index from, inclusive, to index to, exclusive,
+     * unlinking the whole range with a single relink
+     *
+     * @param from index of the first element to remove
+     * @param to index after the last element to remove
+     * @throws IndexOutOfBoundsException if from < 0, to > size or from > to
+     * Time complexity: O(to - from), plus O(n) to find from
+     */
+    public void removeRange(int from, int to) {
+        checkRange(from, to, size);
+        int count = to - from;
+        if (count == 0)
+            return;
+        Node first = node(from);
+        Node pred = first.prev;
+        Node succ = first;
+        // removed nodes go back to the pool while it has room
+        for (int i = 0; i < count; i++) {
+            Node next = succ.next;
+            if (poolSize < poolCapacity)
+                recycle(succ);
+            succ = next;
+        }
+        if (pred == null)
+            head = succ;
+        else
+            pred.next = succ;
+        if (succ == null)
+            tail = pred;
+        else
+            succ.prev = pred;
+        // the node after the range, null if the range ran to the tail
+        finger = succ;
+        fingerIndex = from;
+        size -= count;
+        modCount++;
+        if (metrics != null)
+            metrics.removes += count;
+    }
+
+    /**
+     * Returns a view of the elements from index from, inclusive, to index to, exclusive.
+     * The view reads and writes through to this list; changes made to this list other
+     * than through the view make the view throw ConcurrentModificationException.
+     *
+     * @param from index of the first element of the view
+     * @param to index after the last element of the view
+     * @return a list view of the range
+     * @throws IndexOutOfBoundsException if from < 0, to > size or from > to
+     * Time complexity: O(1)
+     */
+    public List<E> subList(int from, int to) {
+        checkRange(from, to, size);
+        return new SubList(null, from, to - from);
+    }
+
     /**
      * Compares the specified object with this list for equality
      *
@@ -359,8 +1063,9 @@ public class LinkedList<E> implements List<E> {
         if (list.size() != size)
             return false;
         Node current = head;
-        for (int i = 0; i < size; i++) {
-            if (!current.value.equals(list.get(i)))
+        Iterator<?> iter = list.iterator();
+        while (current != null) {
+            if (!current.value.equals(iter.next()))
                 return false;
             current = current.next;
         }
@@ -373,15 +1078,13 @@ public class LinkedList<E> implements List<E> {
      * @param index the position of the element to return
      * @return the value of the element at the specified position
      * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
-     * Time complexity: O(n)
+     * Time complexity: O(n), O(1) for indexes next to the previous lookup
      */
     public E get(int index) {
         checkIndex(index);
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
-        return current.value;
+        if (metrics != null)
+            metrics.gets++;
+        return node(index).value;
     }
 
     /**
@@ -391,14 +1094,13 @@ public class LinkedList<E> implements List<E> {
      * @param newVal the value to be stored at the specified position
      * @return the value previously at the specified position
      * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
-     * Time complexity: O(n)
+     * Time complexity: O(n), O(1) for indexes next to the previous lookup
      */
     public E set(int index, E newVal) {
         checkIndex(index);
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
-        }
+        if (metrics != null)
+            metrics.sets++;
+        Node current = node(index);
         E oldVal = current.value;
         current.value = newVal;
         return oldVal;
@@ -414,10 +1116,13 @@ public class LinkedList<E> implements List<E> {
     public int indexOf(Object o) {
         Node current = head;
         for (int i = 0; i < size; i++) {
-            if (current.value.equals(o))
+            if (current.value.equals(o)) {
+                countSearch(i + 1);
                 return i;
+            }
             current = current.next;
         }
+        countSearch(size);
         return -1;
     }
 
@@ -431,10 +1136,13 @@ public class LinkedList<E> implements List<E> {
     public int lastIndexOf(Object o) {
         Node current = tail;
         for (int i = size - 1; i >= 0; i--) {
-            if (current.value.equals(o))
+            if (current.value.equals(o)) {
+                countSearch(size - i);
                 return i;
+            }
             current = current.prev;
         }
+        countSearch(size);
         return -1;
     }
 
@@ -444,41 +1152,319 @@ public class LinkedList<E> implements List<E> {
      * @param index the position of the element to be removed
      * @return the element previously at the specified position
      * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
-     * Time complexity: O(n)
+     * Time complexity: O(n), O(1) for indexes next to the previous lookup
      */
     public E remove(int index) {
         checkIndex(index);
-        if (index == 0)
-            return removeFirst();
-        if (index == size - 1)
-            return removeLast();
-        Node current = head;
-        for (int i = 0; i < index; i++) {
-            current = current.next;
+        return unlink(node(index), index);
+    }
+
+    /**
+     * Sorts this list according to the order induced by the specified Comparator
+     * The sort is a stable natural merge sort that relinks the existing nodes: each
+     * ascending or strictly descending run is cut from the list and merged into a small
+     * table of sorted lists, where slot i holds the merge of 2^i runs, so no array of
+     * elements is allocated and sorted input takes one pass. Only the next links change
+     * until the sort is done; if the comparator throws, the original order is restored
+     * from the prev links.
+     *
+     * @param c the Comparator used to compare list elements, or null for natural ordering
+     * Time complexity: O(n log r) where r is the number of runs, O(1) extra memory
+     */
+    public void sort(Comparator<E> c) {
+        if (size > 1)
+            sort(head, tail, c);
+    }
+
+    /**
+     * Sort the nodes from first to last in place, as described for sort(c)
+     *
+     * @param first the first node of the range, which has at least two nodes
+     * @param last the last node of the range
+     * @param c the Comparator used to compare list elements, or null for natural ordering
+     * Time complexity: O(k log r) where k is the length of the range and r its number of runs
+     */
+    private void sort(Node first, Node last, Comparator<E> c) {
+        if (c == null)
+            c = (Comparator<E>) Comparator.naturalOrder();
+        long start = metrics != null ? System.nanoTime() : 0;
+        modCount++;
+        finger = null;
+        Node pred = first.prev;
+        Node succ = last.next;
+        last.next = null;
+        Node sorted = null;
+        try {
+            Object[] pending = new Object[Integer.SIZE];
+            int used = 0;
+            Node current = first;
+            while (current != null) {
+                Node run = current;
+                Node end = current;
+                if (end.next != null && c.compare(end.next.value, end.value) < 0) {
+                    // strictly descending, so reversing it keeps the sort stable
+                    run = null;
+                    do {
+                        Node next = end.next;
+                        end.next = run;
+                        run = end;
+                        end = next;
+                    } while (end.next != null && c.compare(end.next.value, end.value) < 0);
+                    current = end.next;
+                    end.next = run;
+                    run = end;
+                } else {
+                    while (end.next != null && c.compare(end.next.value, end.value) >= 0)
+                        end = end.next;
+                    current = end.next;
+                    end.next = null;
+                }
+                int i = 0;
+                for (; pending[i] != null; i++) {
+                    run = merge((Node) pending[i], run, c);
+                    pending[i] = null;
+                }
+                pending[i] = run;
+                used = Math.max(used, i + 1);
+            }
+            for (int i = 0; i < used; i++) {
+                if (pending[i] != null)
+                    sorted = (sorted == null) ? (Node) pending[i] : merge((Node) pending[i], sorted, c);
+            }
+        } catch (RuntimeException | Error e) {
+            for (Node node = last; node != first; node = node.prev)
+                node.prev.next = node;
+            last.next = succ;
+            throw e;
         }
-        E value = current.value;
-        current.prev.next = current.next;
-        current.next.prev = current.prev;
+        if (pred == null)
+            head = sorted;
+        else
+            pred.next = sorted;
+        Node prev = pred;
+        for (Node node = sorted; node != null; node = node.next) {
+            node.prev = prev;
+            prev = node;
+        }
+        prev.next = succ;
+        if (succ == null)
+            tail = prev;
+        else
+            succ.prev = prev;
+        if (metrics != null) {
+            metrics.sorts++;
+            metrics.sortNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Merge two sorted chains of next links, taking from the first chain on ties
+     *
+     * @param first a sorted chain whose elements come before those of second
+     * @param second a sorted chain
+     * @param c the Comparator used to compare list elements
+     * @return the head of the merged chain
+     * Time complexity: O(length of first + length of second)
+     */
+    private Node merge(Node first, Node second, Comparator<E> c) {
+        Node merged;
+        if (c.compare(second.value, first.value) < 0) {
+            merged = second;
+            second = second.next;
+        } else {
+            merged = first;
+            first = first.next;
+        }
+        Node last = merged;
+        while (first != null && second != null) {
+            if (c.compare(second.value, first.value) < 0) {
+                last.next = second;
+                last = second;
+                second = second.next;
+            } else {
+                last.next = first;
+                last = first;
+                first = first.next;
+            }
+        }
+        last.next = (first != null) ? first : second;
+        return merged;
+    }
+
+    /**
+     * Start counting operations on this list; the counters survive clear()
+     *
+     * @return the live counters, which can be registered with JMX
+     * Time complexity: O(1)
+     */
+    public ListMetrics enableMetrics() {
+        if (metrics == null)
+            metrics = new ListMetrics("LinkedList");
+        return metrics;
+    }
+
+    /**
+     * Stop counting operations and remove the counters from JMX if they were registered
+     *
+     * Time complexity: O(1)
+     */
+    public void disableMetrics() {
+        if (metrics != null) {
+            metrics.unregister();
+            metrics = null;
+        }
+    }
+
+    /**
+     * @return the live counters of this list, or null if metrics are disabled
+     * Time complexity: O(1)
+     */
+    public ListMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Count one linear search
+     *
+     * @param compared the number of elements the search compared
+     * Time complexity: O(1)
+     */
+    private void countSearch(int compared) {
+        if (metrics != null) {
+            metrics.searches++;
+            metrics.elementsCompared += compared;
+        }
+    }
+
+    /**
+     * Insert a new node holding item before the node succ
+     *
+     * @param item  the value of the new node
+     * @param succ  the node that will follow the new node, or null to append at the tail
+     * @param index the position of the new node
+     * Time complexity: O(1)
+     */
+    private void linkBefore(E item, Node succ, int index) {
+        Node newNode = newNode(item);
+        Node pred = (succ == null) ? tail : succ.prev;
+        newNode.prev = pred;
+        newNode.next = succ;
+        if (pred == null)
+            head = newNode;
+        else
+            pred.next = newNode;
+        if (succ == null)
+            tail = newNode;
+        else
+            succ.prev = newNode;
+        if (finger != null && fingerIndex >= index)
+            fingerIndex++;
+        size++;
+        modCount++;
+        if (metrics != null)
+            metrics.adds++;
+    }
+
+    /**
+     * Unlink a node from the list
+     *
+     * @param node  the node to be removed
+     * @param index the position of the node
+     * @return the value of the removed node
+     * Time complexity: O(1)
+     */
+    private E unlink(Node node, int index) {
+        Node pred = node.prev;
+        Node succ = node.next;
+        if (pred == null)
+            head = succ;
+        else
+            pred.next = succ;
+        if (succ == null)
+            tail = pred;
+        else
+            succ.prev = pred;
+        if (finger == node)
+            finger = succ;
+        else if (finger != null && fingerIndex > index)
+            fingerIndex--;
         size--;
+        modCount++;
+        if (metrics != null)
+            metrics.removes++;
+        E value = node.value;
+        if (poolSize < poolCapacity)
+            recycle(node);
         return value;
     }
 
     /**
-     * Sorts this list according to the order induced by the specified Comparator
+     * Create a node, reusing one from the pool when available
      *
-     * @param c the Comparator used to compare list elements
-     * Time complexity: O(n log n)
+     * @param item the value of the node
+     * @return a detached node holding item
+     * Time complexity: O(1)
      */
-    public void sort(Comparator<E> c) {
-        if (size <= 1)
-            return;
-        Object[] array = toArray();
-        Arrays.sort((E[]) array, c);
-        Node current = head;
-        for (int i = 0; i < size; i++) {
-            current.value = (E) array[i];
+    private Node newNode(E item) {
+        Node node = pool;
+        if (node == null)
+            return new Node(item);
+        pool = node.next;
+        poolSize--;
+        node.value = item;
+        node.next = null;
+        return node;
+    }
+
+    /**
+     * Clear a detached node and push it onto the pool
+     *
+     * @param node the node to be recycled
+     * Time complexity: O(1)
+     */
+    private void recycle(Node node) {
+        node.value = null;
+        node.prev = null;
+        node.next = pool;
+        pool = node;
+        poolSize++;
+    }
+
+    /**
+     * Find the node at a valid index, walking from the head, the tail or the
+     * last node reached by index, whichever is closest, and remember it
+     *
+     * @param index the position of the node, 0 <= index < size
+     * @return the node at the specified position
+     * Time complexity: O(min(index, size - index, |index - fingerIndex|))
+     */
+    private Node node(int index) {
+        Node current;
+        int i;
+        if (index < (size >> 1)) {
+            current = head;
+            i = 0;
+        } else {
+            current = tail;
+            i = size - 1;
+        }
+        if (finger != null && Math.abs(index - fingerIndex) < Math.abs(index - i)) {
+            current = finger;
+            i = fingerIndex;
+        }
+        if (metrics != null)
+            metrics.nodesTraversed += Math.abs(index - i);
+        while (i < index) {
             current = current.next;
+            i++;
+        }
+        while (i > index) {
+            current = current.prev;
+            i--;
         }
+        finger = current;
+        fingerIndex = index;
+        return current;
     }
 
     /**
@@ -493,6 +1479,17 @@ public class LinkedList<E> implements List<E> {
             throw new IndexOutOfBoundsException(index);
     }
 
+    /**
+     * Check if the range [from, to) lies within a list of the given length
+     *
+     * @throws IndexOutOfBoundsException if from < 0, to > length or from > to
+     * Time complexity: O(1)
+     */
+    private static void checkRange(int from, int to, int length) {
+        if (from < 0 || to > length || from > to)
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+    }
+
     /**
      * Returns an array containing all of the elements in this list in proper sequence (from first to last element)
      *
@@ -510,4 +1507,51 @@ public class LinkedList<E> implements List<E> {
         }
         return array;
     }
-}
\ No newline at end of file
+
+    /**
+     * Write the list to a channel in the binary format of ListFormat
+     * Lists of only Integer, Long, Double or String use a compact encoding without tags;
+     * other element types must be Serializable
+     *
+     * @param channel the channel receiving the list, it is not closed
+     * @throws IOException if the channel fails or an element cannot be serialized
+     * Time complexity: O(n)
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        ListFormat.Writer writer = new ListFormat.Writer(channel, ListFormat.kindOf(iterator()), size);
+        for (Node current = head; current != null; current = current.next)
+            writer.write(current.value);
+        writer.finish();
+    }
+
+    /**
+     * Read a list written by writeTo; serialized elements are rejected
+     *
+     * @param channel the channel supplying the list, it is not closed
+     * @return a new list holding the elements that were written
+     * @throws IOException if the channel fails, does not hold a list or holds a serialized element
+     * Time complexity: O(n)
+     */
+    public static <E> LinkedList<E> readFrom(ReadableByteChannel channel) throws IOException {
+        return readFrom(channel, null);
+    }
+
+    /**
+     * Read a list written by writeTo, deserializing the elements without their own
+     * encoding through a filter
+     *
+     * @param channel the channel supplying the list, it is not closed
+     * @param filter the filter checking serialized elements, or null to reject them
+     * @return a new list holding the elements that were written
+     * @throws IOException if the channel fails, does not hold a list or the filter rejects an element
+     * Time complexity: O(n)
+     */
+    public static <E> LinkedList<E> readFrom(ReadableByteChannel channel, ObjectInputFilter filter) throws IOException {
+        ListFormat.Reader reader = new ListFormat.Reader(channel, filter);
+        LinkedList<E> list = new LinkedList<>();
+        for (int i = reader.count(); i > 0; i--)
+            list.addLast((E) reader.next());
+        reader.finish();
+        return list;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.Comparator;
+import java.util.Iterator;
 
 /**
  * A generic list interface that defines common methods for manipulating lists of elements.
@@ -75,4 +76,26 @@ public interface List<E> extends Collection<E> {
      * @return an array containing all of the elements in this list in proper sequence
      */
     public abstract Object[] toArray();
+
+    /**
+     * Inserts all of the elements in the specified collection at the specified position in this list.
+     * The default implementation copies c and then inserts the elements one by one with add(int, E);
+     * ArrayList and LinkedList override it with a single shift or relink.
+     *
+     * @param index the position at which the first element of c is to be inserted
+     * @param c     the collection containing elements to be added to this list
+     * @return true if this list changed as a result of the call
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index > size())
+     */
+    public default boolean addAll(int index, Collection<E> c) {
+        if (index < 0 || index > size())
+            throw new IndexOutOfBoundsException(index);
+        Object[] values = new Object[c.size()];
+        int count = 0;
+        for (Iterator<E> iterator = c.iterator(); iterator.hasNext();)
+            values[count++] = iterator.next();
+        for (int i = 0; i < count; i++)
+            add(index + i, (E) values[i]);
+        return count > 0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,471 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Class to implement the binary format used by ArrayList.writeTo and LinkedList.writeTo
+ * A stream is a header (magic number, element kind, element count) followed by blocks,
+ * each an int byte length and that many bytes of encoded elements. Lists of only Integer,
+ * Long, Double or String are written without a tag per element; other lists tag every
+ * element and fall back to Java serialization for types other than those four.
+ * A reader rejects serialized elements unless it is given an ObjectInputFilter, which
+ * then decides which classes may be deserialized.
+ * Blocks go through one direct buffer per thread that is reused by every call, so a
+ * thread must not interleave two writers or two readers.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+final class ListFormat {
+    // constants: magic number and element kinds, also used as tags in MIXED lists
+    private static final int MAGIC = 0x4C535431;
+    static final byte NULL = 0, INT = 1, LONG = 2, DOUBLE = 3, STRING = 4, OBJECT = 5, MIXED = 6;
+    // constant: header length in bytes
+    private static final int HEADER = 9;
+    // constant: capacity of the block buffers, the block length prefix included
+    private static final int BLOCK = 1 << 16;
+    // data members: block buffers reused by the writers and by the readers of each thread
+    private static final ThreadLocal<ByteBuffer> WRITE_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BLOCK));
+    private static final ThreadLocal<ByteBuffer> READ_BUFFER = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BLOCK));
+
+    private ListFormat() {
+    }
+
+    /**
+        Find the kind to use for a list
+        @param iter iterator over the elements of the list
+        @return INT, LONG, DOUBLE or STRING if every element has that type, MIXED otherwise
+        Time complexity: O(n)
+     */
+    static byte kindOf(Iterator<?> iter) {
+        if (!iter.hasNext())
+            return MIXED;
+        byte kind = tagOf(iter.next());
+        if (kind == NULL || kind == OBJECT)
+            return MIXED;
+        while (iter.hasNext()) {
+            if (tagOf(iter.next()) != kind)
+                return MIXED;
+        }
+        return kind;
+    }
+
+    /**
+        @param e an element
+        @return the tag that encodes e
+        Time complexity: O(1)
+     */
+    private static byte tagOf(Object e) {
+        if (e == null)
+            return NULL;
+        Class<?> type = e.getClass();
+        if (type == Integer.class)
+            return INT;
+        if (type == Long.class)
+            return LONG;
+        if (type == Double.class)
+            return DOUBLE;
+        if (type == String.class)
+            return STRING;
+        return OBJECT;
+    }
+
+    /**
+     * Class to write a list to a channel one element at a time
+     */
+    static final class Writer {
+        // data member: the channel receiving the blocks
+        private final WritableByteChannel channel;
+        // data member: the kind of the list being written
+        private final byte kind;
+        // data member: the buffer of the current block, the first 4 bytes hold its length
+        private final ByteBuffer buffer;
+
+        /**
+            Constructor writes the header
+            @param channel the channel receiving the list
+            @param kind the value returned by kindOf for the list
+            @param count the number of elements that will be written
+            @throws IOException if the channel fails
+            Time complexity: O(1)
+        */
+        Writer(WritableByteChannel channel, byte kind, int count) throws IOException {
+            this.channel = channel;
+            this.kind = kind;
+            buffer = WRITE_BUFFER.get();
+            buffer.clear();
+            buffer.putInt(MAGIC).put(kind).putInt(count);
+            buffer.flip();
+            writeFully(buffer);
+            startBlock();
+        }
+
+        /**
+            Encode one element into the current block, sending the block when it is full
+            An element and its tag always go in the same block
+            @param e the element to write, its type must match the kind of the list
+            @throws IOException if the channel fails
+            @throws NotSerializableException if e is an unsupported type that is not Serializable
+            Time complexity: O(1) plus the length of e for strings and objects
+         */
+        void write(Object e) throws IOException {
+            byte tag = kind == MIXED ? tagOf(e) : kind;
+            int head = kind == MIXED ? 1 : 0;
+            switch (tag) {
+                case NULL:
+                    room(1);
+                    buffer.put(NULL);
+                    break;
+                case INT:
+                    room(head + Integer.BYTES);
+                    putTag(tag);
+                    buffer.putInt((Integer) e);
+                    break;
+                case LONG:
+                    room(head + Long.BYTES);
+                    putTag(tag);
+                    buffer.putLong((Long) e);
+                    break;
+                case DOUBLE:
+                    room(head + Double.BYTES);
+                    putTag(tag);
+                    buffer.putDouble((Double) e);
+                    break;
+                case STRING:
+                    writeString(tag, head, (String) e);
+                    break;
+                default:
+                    writeBytes(tag, head, serialize(e));
+            }
+        }
+
+        /**
+            Send the last block and an empty block that ends the stream
+            @throws IOException if the channel fails
+            Time complexity: O(1)
+         */
+        void finish() throws IOException {
+            sendBlock();
+            buffer.clear();
+            buffer.putInt(0);
+            buffer.flip();
+            writeFully(buffer);
+        }
+
+        /**
+            Write a string as its UTF-8 length and bytes
+            ASCII strings that fit in a block are encoded in place without a temporary array
+            @param tag the tag of the element
+            @param head the number of bytes used by the tag, 0 or 1
+            @param s the string to write
+            @throws IOException if the channel fails
+            Time complexity: O(length of s)
+         */
+        private void writeString(byte tag, int head, String s) throws IOException {
+            int n = s.length();
+            if (head + Integer.BYTES + n <= BLOCK - Integer.BYTES) {
+                room(head + Integer.BYTES + n);
+                int start = buffer.position();
+                putTag(tag);
+                buffer.putInt(n);
+                int i = 0;
+                while (i < n && s.charAt(i) < 0x80)
+                    buffer.put((byte) s.charAt(i++));
+                if (i == n)
+                    return;
+                buffer.position(start);
+            }
+            writeBytes(tag, head, s.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+            Write a byte array as its length and contents, in a block of its own if it is too long
+            @param tag the tag of the element
+            @param head the number of bytes used by the tag, 0 or 1
+            @param bytes the bytes to write
+            @throws IOException if the channel fails
+            Time complexity: O(length of bytes)
+         */
+        private void writeBytes(byte tag, int head, byte[] bytes) throws IOException {
+            int length = head + Integer.BYTES + bytes.length;
+            if (length <= BLOCK - Integer.BYTES) {
+                room(length);
+                putTag(tag);
+                buffer.putInt(bytes.length).put(bytes);
+                return;
+            }
+            sendBlock();
+            ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + length);
+            large.putInt(length);
+            if (head > 0)
+                large.put(tag);
+            large.putInt(bytes.length).put(bytes);
+            large.flip();
+            writeFully(large);
+        }
+
+        /**
+            Put the tag of an element when the list is MIXED
+            @param tag the tag of the element
+            Time complexity: O(1)
+         */
+        private void putTag(byte tag) {
+            if (kind == MIXED)
+                buffer.put(tag);
+        }
+
+        /**
+            Send the current block if fewer than n bytes are left in it
+            @param n the number of bytes about to be encoded
+            @throws IOException if the channel fails
+            Time complexity: O(1) amortized
+         */
+        private void room(int n) throws IOException {
+            if (buffer.remaining() < n)
+                sendBlock();
+        }
+
+        /**
+            Fill in the length of the current block, send it if it is not empty and start a new one
+            @throws IOException if the channel fails
+            Time complexity: O(size of the block)
+         */
+        private void sendBlock() throws IOException {
+            int length = buffer.position() - Integer.BYTES;
+            if (length > 0) {
+                buffer.putInt(0, length);
+                buffer.flip();
+                writeFully(buffer);
+            }
+            startBlock();
+        }
+
+        /**
+            Reset the buffer, leaving room for the block length
+            Time complexity: O(1)
+         */
+        private void startBlock() {
+            buffer.clear();
+            buffer.position(Integer.BYTES);
+        }
+
+        /**
+            @param src the bytes to send, all of them are written
+            @throws IOException if the channel fails
+            Time complexity: O(remaining bytes of src)
+         */
+        private void writeFully(ByteBuffer src) throws IOException {
+            while (src.hasRemaining())
+                channel.write(src);
+        }
+    }
+
+    /**
+     * Class to read a list from a channel one element at a time
+     */
+    static final class Reader {
+        // data member: the channel supplying the blocks
+        private final ReadableByteChannel channel;
+        // data member: the kind of the list being read
+        private final byte kind;
+        // data member: the number of elements in the list
+        private final int count;
+        // data member: the current block, positioned at the next element
+        private ByteBuffer block;
+        // data member: scratch array for string bytes
+        private byte[] scratch = new byte[64];
+        // data member: the filter checking serialized elements, null to reject them
+        private final ObjectInputFilter filter;
+
+        /**
+            Constructor reads and checks the header
+            @param channel the channel supplying the list
+            @param filter the filter checking serialized elements, or null to reject them
+            @throws IOException if the channel fails or does not hold a list
+            Time complexity: O(1)
+        */
+        Reader(ReadableByteChannel channel, ObjectInputFilter filter) throws IOException {
+            this.channel = channel;
+            this.filter = filter;
+            ByteBuffer buffer = READ_BUFFER.get();
+            buffer.clear().limit(HEADER);
+            readFully(buffer);
+            buffer.flip();
+            if (buffer.getInt() != MAGIC)
+                throw new StreamCorruptedException("Not a list stream");
+            kind = buffer.get();
+            count = buffer.getInt();
+            if (kind < INT || kind > MIXED || kind == OBJECT || count < 0)
+                throw new StreamCorruptedException("Bad list header");
+            block = buffer;
+            block.limit(block.position());
+        }
+
+        /**
+            @return the number of elements in the list
+            Time complexity: O(1)
+         */
+        int count() {
+            return count;
+        }
+
+        /**
+            Decode the next element, reading the next block when the current one is used up
+            @return the next element of the list
+            @throws IOException if the channel fails or the stream is corrupted
+            Time complexity: O(1) plus the length of strings and objects
+         */
+        Object next() throws IOException {
+            if (!block.hasRemaining())
+                nextBlock();
+            byte tag = kind == MIXED ? need(1).get() : kind;
+            switch (tag) {
+                case NULL:
+                    return null;
+                case INT:
+                    return need(Integer.BYTES).getInt();
+                case LONG:
+                    return need(Long.BYTES).getLong();
+                case DOUBLE:
+                    return need(Double.BYTES).getDouble();
+                case STRING: {
+                    int n = length();
+                    if (scratch.length < n)
+                        scratch = new byte[Math.max(n, 2 * scratch.length)];
+                    block.get(scratch, 0, n);
+                    return new String(scratch, 0, n, StandardCharsets.UTF_8);
+                }
+                case OBJECT: {
+                    byte[] bytes = new byte[length()];
+                    block.get(bytes);
+                    return deserialize(bytes, filter);
+                }
+                default:
+                    throw new StreamCorruptedException("Bad element tag " + tag);
+            }
+        }
+
+        /**
+            Read the byte length of a string or object element
+            @return a length that fits in what is left of the current block
+            @throws StreamCorruptedException if the length is negative or longer than the block
+            Time complexity: O(1)
+         */
+        private int length() throws IOException {
+            int n = need(Integer.BYTES).getInt();
+            if (n < 0 || n > block.remaining())
+                throw new StreamCorruptedException("Bad element length " + n);
+            return n;
+        }
+
+        /**
+            Check that the current block holds the next bytes of an element
+            @param n the number of bytes the element needs
+            @return the current block
+            @throws StreamCorruptedException if fewer than n bytes are left in the block
+            Time complexity: O(1)
+         */
+        private ByteBuffer need(int n) throws StreamCorruptedException {
+            if (block.remaining() < n)
+                throw new StreamCorruptedException("Element runs past the end of its block");
+            return block;
+        }
+
+        /**
+            Read the next block into the reused buffer, or into a heap buffer if it is larger
+            @throws IOException if the channel fails or the stream ends early
+            Time complexity: O(size of the block)
+         */
+        private void nextBlock() throws IOException {
+            ByteBuffer buffer = READ_BUFFER.get();
+            buffer.clear().limit(Integer.BYTES);
+            readFully(buffer);
+            int length = buffer.getInt(0);
+            if (length <= 0)
+                throw new StreamCorruptedException("List stream ended before its last element");
+            if (length > BLOCK)
+                buffer = ByteBuffer.allocate(length);
+            buffer.clear().limit(length);
+            readFully(buffer);
+            buffer.flip();
+            block = buffer;
+        }
+
+        /**
+            Check that the stream ends with the empty block written by Writer.finish
+            @throws IOException if the channel fails or elements are left over
+            Time complexity: O(1)
+         */
+        void finish() throws IOException {
+            ByteBuffer buffer = READ_BUFFER.get();
+            if (block.hasRemaining())
+                throw new StreamCorruptedException("List stream has extra elements");
+            buffer.clear().limit(Integer.BYTES);
+            readFully(buffer);
+            if (buffer.getInt(0) != 0)
+                throw new StreamCorruptedException("List stream has extra elements");
+        }
+
+        /**
+            @param dst the buffer to fill up to its limit
+            @throws IOException if the channel fails
+            @throws EOFException if the channel ends first
+            Time complexity: O(remaining bytes of dst)
+         */
+        private void readFully(ByteBuffer dst) throws IOException {
+            while (dst.hasRemaining()) {
+                if (channel.read(dst) < 0)
+                    throw new EOFException("List stream ended early");
+            }
+        }
+    }
+
+    /**
+        @param e an element of a type without its own encoding
+        @return the Java serialization of e
+        @throws NotSerializableException if e is not Serializable
+        Time complexity: O(size of e)
+     */
+    private static byte[] serialize(Object e) throws IOException {
+        if (!(e instanceof Serializable))
+            throw new NotSerializableException(e.getClass().getName());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+        @param bytes the Java serialization of an element
+        @param filter the filter checking the classes and graph of the element, null to reject it
+        @return the element
+        @throws InvalidObjectException if filter is null
+        @throws java.io.InvalidClassException if the filter rejects the element
+        @throws StreamCorruptedException if the class of the element cannot be found
+        Time complexity: O(size of the element)
+     */
+    private static Object deserialize(byte[] bytes, ObjectInputFilter filter) throws IOException {
+        if (filter == null)
+            throw new InvalidObjectException("Serialized list elements are rejected without an ObjectInputFilter");
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            in.setObjectInputFilter(filter);
+            return in.readObject();
+        } catch (ClassNotFoundException e) {
+            throw new StreamCorruptedException(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Class to implement the operation counters of one ArrayList or LinkedList
+ * A list only counts after enableMetrics() is called on it; until then its metrics field is
+ * null and every instrumented operation pays a single null check. The counters are plain
+ * fields updated by the thread using the list, so a JMX client on another thread may read
+ * values that are slightly behind.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class ListMetrics implements ListMetricsMBean {
+    // constant: bytes per element reference, used to turn copied elements into bytes
+    private static final int REFERENCE_BYTES = referenceBytes();
+    // data member: the simple name of the list class, used in the JMX object name
+    private final String type;
+    // data member: the JMX name while registered, null otherwise
+    private ObjectName name;
+    // data members: the counters, updated directly by the owning list
+    long adds, gets, sets, removes;
+    long searches, elementsCompared;
+    long resizes, resizeElementsCopied, elementsShifted;
+    long nodesTraversed;
+    long sorts, sortNanos;
+
+    /**
+        Constructor with one parameter creates zeroed counters
+        @param type the simple name of the list class
+        Time complexity: O(1)
+    */
+    ListMetrics(String type) {
+        this.type = type;
+    }
+
+    // getters of ListMetricsMBean, see the interface for what each counter means
+    public long getAdds() {
+        return adds;
+    }
+
+    public long getGets() {
+        return gets;
+    }
+
+    public long getSets() {
+        return sets;
+    }
+
+    public long getRemoves() {
+        return removes;
+    }
+
+    public long getSearches() {
+        return searches;
+    }
+
+    public long getElementsCompared() {
+        return elementsCompared;
+    }
+
+    public long getResizes() {
+        return resizes;
+    }
+
+    public long getResizeBytesCopied() {
+        return resizeElementsCopied * REFERENCE_BYTES;
+    }
+
+    public long getElementsShifted() {
+        return elementsShifted;
+    }
+
+    public long getNodesTraversed() {
+        return nodesTraversed;
+    }
+
+    public long getSorts() {
+        return sorts;
+    }
+
+    public long getSortNanos() {
+        return sortNanos;
+    }
+
+    /**
+        Set every counter back to 0
+        Time complexity: O(1)
+     */
+    public void reset() {
+        adds = gets = sets = removes = 0;
+        searches = elementsCompared = 0;
+        resizes = resizeElementsCopied = elementsShifted = 0;
+        nodesTraversed = 0;
+        sorts = sortNanos = 0;
+    }
+
+    /**
+        Copy the counters as they are now; the copy does not change with the list and is not registered
+        @return a new ListMetrics holding the current values
+        Time complexity: O(1)
+     */
+    public ListMetrics snapshot() {
+        ListMetrics copy = new ListMetrics(type);
+        copy.adds = adds;
+        copy.gets = gets;
+        copy.sets = sets;
+        copy.removes = removes;
+        copy.searches = searches;
+        copy.elementsCompared = elementsCompared;
+        copy.resizes = resizes;
+        copy.resizeElementsCopied = resizeElementsCopied;
+        copy.elementsShifted = elementsShifted;
+        copy.nodesTraversed = nodesTraversed;
+        copy.sorts = sorts;
+        copy.sortNanos = sortNanos;
+        return copy;
+    }
+
+    /**
+        Register the counters with the platform MBean server as ListMetrics:type=<list class>,name=<name>
+        @param name a name that tells this list apart from the others of its class
+        @return the object name the counters were registered under
+        @throws JMException if the name is malformed or already registered
+        Time complexity: O(1)
+     */
+    public synchronized ObjectName register(String name) throws JMException {
+        ObjectName objectName = new ObjectName("ListMetrics:type=" + type + ",name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        unregister();
+        this.name = objectName;
+        return objectName;
+    }
+
+    /**
+        Remove the counters from the platform MBean server, if they are registered
+        Time complexity: O(1)
+     */
+    public synchronized void unregister() {
+        if (name == null)
+            return;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(name);
+        } catch (JMException e) {
+            // already removed by someone else
+        }
+        name = null;
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing every counter
+        Time complexity: O(1)
+     */
+    public String toString() {
+        return type + " metrics [adds=" + adds + " gets=" + gets + " sets=" + sets + " removes=" + removes
+            + " searches=" + searches + " elementsCompared=" + elementsCompared
+            + " resizes=" + resizes + " resizeBytesCopied=" + getResizeBytesCopied()
+            + " elementsShifted=" + elementsShifted + " nodesTraversed=" + nodesTraversed
+            + " sorts=" + sorts + " sortNanos=" + sortNanos + "]";
+    }
+
+    /**
+        @return 4 if the JVM uses compressed object references, 8 otherwise
+        Time complexity: O(1)
+     */
+    private static int referenceBytes() {
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean hotspot =
+                ManagementFactory.getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            return Boolean.parseBoolean(hotspot.getVMOption("UseCompressedOops").getValue()) ? 4 : 8;
+        } catch (RuntimeException e) {
+            return 8;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Management interface of ListMetrics, read by JMX clients such as JConsole
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public interface ListMetricsMBean {
+    /**
+     * @return the number of elements added
+     */
+    long getAdds();
+
+    /**
+     * @return the number of get(int) calls
+     */
+    long getGets();
+
+    /**
+     * @return the number of set(int, E) calls
+     */
+    long getSets();
+
+    /**
+     * @return the number of elements removed
+     */
+    long getRemoves();
+
+    /**
+     * @return the number of linear searches: contains, indexOf, lastIndexOf and remove(Object)
+     */
+    long getSearches();
+
+    /**
+     * @return the number of elements compared by linear searches
+     */
+    long getElementsCompared();
+
+    /**
+     * @return the number of times the backing array was reallocated
+     */
+    long getResizes();
+
+    /**
+     * @return the number of bytes copied by reallocations of the backing array
+     */
+    long getResizeBytesCopied();
+
+    /**
+     * @return the number of elements moved to open or close a slot
+     */
+    long getElementsShifted();
+
+    /**
+     * @return the number of links followed to reach a node by index
+     */
+    long getNodesTraversed();
+
+    /**
+     * @return the number of sorts
+     */
+    long getSorts();
+
+    /**
+     * @return the total time spent sorting, in nanoseconds
+     */
+    long getSortNanos();
+
+    /**
+     * Set every counter back to 0
+     */
+    void reset();
+}
@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Iterator;
+
+/**
+ * Class to implement the text format of the lists, [a b c], shared by toString(),
+ * toString(int) and writeTo(Appendable) of ArrayList, LinkedList and their views
+ * The text is handed to its destination in chunks of about CHUNK characters, so memory
+ * use does not grow with the list, and a StringBuilder destination is written directly.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+final class ListText {
+    // constant: number of characters collected before they are handed to the destination
+    static final int CHUNK = 1 << 13;
+
+    private ListText() {
+    }
+
+    /**
+        Format at most maxElements elements of a list
+        @param iter iterator over the elements of the list
+        @param size the number of elements of the list
+        @param maxElements the number of elements to show
+        @return a formatted string such as [6 11 25 ... 12 more] when elements are left out
+        @throws IllegalArgumentException if maxElements < 0
+        Time complexity: O(min(size, maxElements))
+     */
+    static String format(Iterator<?> iter, int size, int maxElements) {
+        if (maxElements < 0)
+            throw new IllegalArgumentException("maxElements must not be negative: " + maxElements);
+        StringBuilder output = new StringBuilder();
+        try {
+            write(iter, size, output, maxElements);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    /**
+        Write at most maxElements elements of a list, through a chunk buffer unless out
+        is a StringBuilder already
+        @param iter iterator over the elements of the list
+        @param size the number of elements of the list
+        @param out the destination of the text, it is neither flushed nor closed
+        @param maxElements the number of elements to show
+        @throws IOException if out fails
+        Time complexity: O(min(size, maxElements))
+     */
+    static void write(Iterator<?> iter, int size, Appendable out, int maxElements) throws IOException {
+        int shown = Math.min(size, maxElements);
+        StringBuilder chunk = (out instanceof StringBuilder) ? (StringBuilder) out : new StringBuilder(CHUNK + 64);
+        char[] chars = (out instanceof Writer) ? new char[CHUNK] : null;
+        chunk.append('[');
+        for (int i = 0; i < shown; i++) {
+            if (i > 0)
+                chunk.append(' ');
+            append(chunk, iter.next());
+            if (chunk != out && chunk.length() >= CHUNK)
+                flush(chunk, out, chars);
+        }
+        if (shown < size)
+            chunk.append(shown > 0 ? " ... " : "... ").append(size - shown).append(" more");
+        chunk.append(']');
+        if (chunk != out)
+            flush(chunk, out, chars);
+    }
+
+    /**
+        Append the text of one element; Integer and Long are formatted without creating a String
+        Time complexity: O(1) for numbers, that of toString() otherwise
+     */
+    private static void append(StringBuilder chunk, Object e) {
+        if (e instanceof Integer)
+            chunk.append(((Integer) e).intValue());
+        else if (e instanceof Long)
+            chunk.append(((Long) e).longValue());
+        else
+            chunk.append(e);
+    }
+
+    /**
+        Hand the text in a chunk to its destination and empty the chunk; a Writer receives
+        the characters through a reused array instead of the copy made by Writer.append
+        Time complexity: O(length of the chunk)
+     */
+    private static void flush(StringBuilder chunk, Appendable out, char[] chars) throws IOException {
+        if (out instanceof Writer) {
+            for (int from = 0; from < chunk.length(); from += chars.length) {
+                int to = Math.min(chunk.length(), from + chars.length);
+                chunk.getChars(from, to, chars, 0);
+                ((Writer) out).write(chars, 0, to - from);
+            }
+        } else {
+            out.append(chunk);
+        }
+        chunk.setLength(0);
+    }
+}
@@ -0,0 +1,531 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Generic class to implement an array-based list stored in a memory-mapped file
+ * Elements are encoded by an OffHeapArrayList.Codec into fixed-width slots that follow a
+ * small header holding the slot width and the size. Every change writes straight into the
+ * mapping, so reopening the file maps it again and reads the header, with no pass over the
+ * elements. force() flushes the mapping to the storage device.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class MappedArrayList<E> implements List<E>, AutoCloseable {
+    // constants: header layout, a magic number, the slot width and the size
+    private static final int MAGIC = 0x4D4C5354;
+    private static final int WIDTH_OFFSET = 4;
+    private static final int SIZE_OFFSET = 8;
+    private static final int HEADER = 16;
+    // data member: channel of the backing file, null once the list is closed
+    private FileChannel channel;
+    // data member: mapping of the header and all slots
+    private MappedByteBuffer buffer;
+    // data member: codec that encodes and decodes one element
+    private final OffHeapArrayList.Codec<E> codec;
+    // data member: number of bytes in each slot
+    private final int width;
+    // data member: number of slots in the mapping
+    private int capacity;
+    // data member: size of the list, also stored in the header
+    private int size;
+    // data member: number of structural modifications, checked by iterators
+    private int modCount;
+
+    /**
+        Constructor with two parameters opens the list stored in file, or creates an empty one
+        Reopening maps the file and reads the header, the elements are not read
+        @param file the file holding the list
+        @param codec the codec used to encode and decode the elements
+        @throws IOException if the file cannot be opened or mapped
+        @throws IllegalArgumentException if the file does not hold a list with the codec width,
+            or its stored size is negative or larger than the slots in the file
+        Time complexity: O(1)
+    */
+    public MappedArrayList(Path file, OffHeapArrayList.Codec<E> codec) throws IOException {
+        this.codec = codec;
+        this.width = codec.width();
+        if (width <= 0)
+            throw new IllegalArgumentException("Width must be positive");
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long length = channel.size();
+            if (length == 0) {
+                capacity = 10;
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteCount(capacity));
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(WIDTH_OFFSET, width);
+                buffer.putLong(SIZE_OFFSET, 0);
+            } else {
+                if (length < HEADER || length > Integer.MAX_VALUE)
+                    throw new IllegalArgumentException("Not a list file: " + file);
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                if (buffer.getInt(0) != MAGIC || buffer.getInt(WIDTH_OFFSET) != width)
+                    throw new IllegalArgumentException("Not a list file with slots of " + width + " bytes: " + file);
+                capacity = (int) ((length - HEADER) / width);
+                long stored = buffer.getLong(SIZE_OFFSET);
+                if (stored < 0 || stored > capacity)
+                    throw new IllegalArgumentException("List file holds a size of " + stored
+                        + " outside 0 to its capacity " + capacity + ": " + file);
+                size = (int) stored;
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list by setting size to 0, the file keeps its length
+        Time complexity: O(1)
+     */
+    public void clear() {
+        checkOpen();
+        setSize(0);
+        modCount++;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Write the changes in the mapping to the storage device
+        Without force() the operating system writes them back on its own schedule
+        @throws IllegalStateException if the list is closed
+        Time complexity: O(n) in the number of dirty pages
+     */
+    public void force() {
+        checkOpen();
+        buffer.force();
+    }
+
+    /**
+        Unmap the file and close its channel; the contents stay in the file
+        Any later call that touches the elements throws IllegalStateException
+        @throws IOException if the channel cannot be closed
+        Time complexity: O(1)
+     */
+    public void close() throws IOException {
+        if (channel != null) {
+            if (buffer != null)
+                OffHeapArrayList.free(buffer);
+            buffer = null;
+            FileChannel old = channel;
+            channel = null;
+            capacity = size = 0;
+            modCount++;
+            old.close();
+        }
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        @throws UncheckedIOException if the file cannot grow
+        Time complexity: O(1) or O(n) if the file needs to grow
+    */
+    public boolean add(E item) {
+        ensureCapacity(size + 1);
+        codec.write(buffer, offset(size), item);
+        setSize(size + 1);
+        modCount++;
+        return true;
+    }
+
+    /**
+        Method to add a new item at a given position index
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        @throws UncheckedIOException if the file cannot grow
+        Time complexity: O(n)
+    */
+    public void add(int index, E item) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        ensureCapacity(size + 1);
+        OffHeapArrayList.moveBytes(buffer, offset(index), offset(index + 1), (size - index) * width);
+        codec.write(buffer, offset(index), item);
+        setSize(size + 1);
+        modCount++;
+    }
+
+    /**
+     * Linear search method
+     * @param o the object being searched
+     * @return true if o was found in the list, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Get the value of the element at index, decoded from its slot
+        @param index of the element being accessed
+        @return a new object holding the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        return codec.read(buffer, offset(index));
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E set(int index, E newValue) {
+        checkIndex(index);
+        E oldValue = codec.read(buffer, offset(index));
+        codec.write(buffer, offset(index), newValue);
+        return oldValue;
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one pass: each run of kept slots
+        between two removed elements is moved down with a single block move.
+        If the predicate throws, the elements it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        checkOpen();
+        int oldSize = size;
+        int read = 0;
+        int write = 0;
+        // first slot of the run of kept elements not moved yet
+        int keepFrom = 0;
+        try {
+            for (; read < size; read++) {
+                if (filter.test(codec.read(buffer, offset(read)))) {
+                    if (write != keepFrom)
+                        OffHeapArrayList.moveBytes(buffer, offset(keepFrom), offset(write), (read - keepFrom) * width);
+                    write += read - keepFrom;
+                    keepFrom = read + 1;
+                }
+            }
+        } finally {
+            if (write != keepFrom)
+                OffHeapArrayList.moveBytes(buffer, offset(keepFrom), offset(write), (size - keepFrom) * width);
+            write += size - keepFrom;
+            if (write < size) {
+                setSize(write);
+                modCount++;
+            }
+        }
+        return size < oldSize;
+    }
+
+    /**
+        Remove the element at a given index
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        E val = codec.read(buffer, offset(index));
+        OffHeapArrayList.moveBytes(buffer, offset(index + 1), offset(index), (size - index - 1) * width);
+        setSize(size - 1);
+        modCount++;
+        return val;
+    }
+
+    /**
+        @param index the position of a slot
+        @return the offset of the first byte of the slot in the mapping
+        Time complexity: O(1)
+     */
+    private int offset(int index) {
+        return HEADER + index * width;
+    }
+
+    /**
+        Store a new size in the field and in the header
+        @param newSize the new size of the list
+        Time complexity: O(1)
+     */
+    private void setSize(int newSize) {
+        size = newSize;
+        buffer.putLong(SIZE_OFFSET, newSize);
+    }
+
+    /**
+        Grow the file and remap it to hold at least minCapacity elements
+        @param minCapacity the number of elements the file must be able to hold
+        @throws UncheckedIOException if the file cannot be mapped
+        Time complexity: O(1) amortized, the old contents are not copied
+     */
+    private void ensureCapacity(int minCapacity) {
+        checkOpen();
+        if (minCapacity <= capacity)
+            return;
+        int newCapacity = Math.max(Math.min(capacity + (capacity >> 1), (Integer.MAX_VALUE - HEADER) / width), minCapacity);
+        try {
+            MappedByteBuffer newBuffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, byteCount(newCapacity));
+            OffHeapArrayList.free(buffer);
+            buffer = newBuffer;
+            capacity = newCapacity;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+        @param slots a number of slots
+        @return the length of a file holding the header and slots
+        @throws OutOfMemoryError if the length does not fit in one mapping
+        Time complexity: O(1)
+     */
+    private int byteCount(int slots) {
+        long bytes = HEADER + (long) slots * width;
+        if (bytes > Integer.MAX_VALUE)
+            throw new OutOfMemoryError("Mapped list larger than " + Integer.MAX_VALUE + " bytes");
+        return (int) bytes;
+    }
+
+    /**
+        Check that the list was not closed
+        @throws IllegalStateException if close() was called
+        Time complexity: O(1)
+     */
+    private void checkOpen() {
+        if (buffer == null)
+            throw new IllegalStateException("The list is closed");
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        @throws IllegalStateException if the list is closed
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        checkOpen();
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object that decodes a new object for every element
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new MappedIterator(null);
+    }
+
+    /**
+        Iterator that decodes every element into the same flyweight object
+        The object returned by next() is overwritten by the following call, so it must be
+        copied if it is kept; the codec decides whether it can reuse the object
+        @param flyweight the mutable object that receives each element
+        @return iterator object pointing to the first element in the list
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator(E flyweight) {
+        return new MappedIterator(Objects.requireNonNull(flyweight));
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>
+     */
+    private class MappedIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member flyweight: the object reused for every element, null to decode new objects
+        private final E flyweight;
+        // data member expectedModCount: modCount of the list when the iterator was created
+        private final int expectedModCount = modCount;
+
+        MappedIterator(E flyweight) {
+            this.flyweight = flyweight;
+        }
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws ArrayIndexOutOfBoundsException if current is out of bounds
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (current >= size)
+                throw new ArrayIndexOutOfBoundsException("No more elements");
+            int offset = offset(current++);
+            return flyweight == null ? codec.read(buffer, offset) : codec.read(buffer, offset, flyweight);
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(codec.read(buffer, offset(i))).append(" ");
+        if (size > 0)
+            output.append(codec.read(buffer, offset(size - 1)));
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list
+        The file grows at most once
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        @throws UncheckedIOException if the file cannot grow
+        Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        int count = c.size();
+        if (count == 0)
+            return false;
+        ensureCapacity(size + count);
+        Iterator<E> iterator = c.iterator();
+        for (int i = 0; i < count; i++)
+            codec.write(buffer, offset(size + i), iterator.next());
+        setSize(size + count);
+        modCount++;
+        return true;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!codec.read(buffer, offset(i)).equals(iter.next()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (codec.read(buffer, offset(i)).equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (codec.read(buffer, offset(i)).equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array of decoded elements
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++)
+            array[i] = codec.read(buffer, offset(i));
+        return array;
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        The elements are decoded to the heap, sorted and encoded back into the mapping
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        E[] array = (E[]) toArray();
+        Arrays.sort(array, c);
+        for (int i = 0; i < size; i++)
+            codec.write(buffer, offset(i), array[i]);
+        modCount++;
+    }
+}
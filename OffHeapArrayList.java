@@ -0,0 +1,629 @@
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Generic class to implement an array-based list whose elements live outside the heap
+ * Each element is encoded by a Codec into a fixed-width slot of a direct ByteBuffer, so the
+ * garbage collector sees one buffer instead of one object per element. Elements are decoded
+ * on access; close() releases the memory without waiting for the buffer to be collected.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class OffHeapArrayList<E> implements List<E>, AutoCloseable {
+    // data member: direct buffer holding the encoded elements, null once the list is closed
+    private ByteBuffer buffer;
+    // data member: codec that encodes and decodes one element
+    private final Codec<E> codec;
+    // data member: number of bytes in each slot
+    private final int width;
+    // data member: number of slots in the buffer
+    private int capacity;
+    // data member: size of the list
+    private int size;
+    // data member: number of structural modifications, checked by iterators
+    private int modCount;
+
+    /**
+     * Interface to encode an element into a fixed-width slot and decode it back
+     * @param <E> the type of the elements
+     */
+    public interface Codec<E> {
+        /**
+         * @return the number of bytes used by every encoded element
+         */
+        int width();
+
+        /**
+         * Encode value into the slot that starts at offset
+         * @param buffer the buffer holding the slot
+         * @param offset the first byte of the slot
+         * @param value the element to encode
+         */
+        void write(ByteBuffer buffer, int offset, E value);
+
+        /**
+         * Decode the element stored in the slot that starts at offset
+         * @param buffer the buffer holding the slot
+         * @param offset the first byte of the slot
+         * @return a new element equal to the one that was written
+         */
+        E read(ByteBuffer buffer, int offset);
+
+        /**
+         * Decode the element stored in the slot into an existing object when the type is mutable
+         * The default implementation allocates a new element
+         * @param buffer the buffer holding the slot
+         * @param offset the first byte of the slot
+         * @param reuse the object to overwrite
+         * @return reuse holding the decoded element, or a new element
+         */
+        default E read(ByteBuffer buffer, int offset, E reuse) {
+            return read(buffer, offset);
+        }
+
+        /** Codec for Integer elements, 4 bytes each */
+        Codec<Integer> INTEGER = new Codec<>() {
+            public int width() {
+                return Integer.BYTES;
+            }
+
+            public void write(ByteBuffer buffer, int offset, Integer value) {
+                buffer.putInt(offset, value);
+            }
+
+            public Integer read(ByteBuffer buffer, int offset) {
+                return buffer.getInt(offset);
+            }
+        };
+
+        /** Codec for Long elements, 8 bytes each */
+        Codec<Long> LONG = new Codec<>() {
+            public int width() {
+                return Long.BYTES;
+            }
+
+            public void write(ByteBuffer buffer, int offset, Long value) {
+                buffer.putLong(offset, value);
+            }
+
+            public Long read(ByteBuffer buffer, int offset) {
+                return buffer.getLong(offset);
+            }
+        };
+    }
+
+    /**
+        Constructor with one parameter creates a buffer of 10 slots and sets size to 0
+        @param codec the codec used to encode and decode the elements
+        Time complexity: O(1)
+    */
+    public OffHeapArrayList(Codec<E> codec) {
+        this(codec, 10);
+    }
+
+    /**
+        Constructor with two parameters creates a buffer of capacity slots and sets size to 0
+        @param codec the codec used to encode and decode the elements
+        @param capacity number of slots in the buffer
+        @throws IllegalArgumentException if the codec width is not positive or capacity is negative
+        Time complexity: O(1)
+    */
+    public OffHeapArrayList(Codec<E> codec, int capacity) {
+        if (codec.width() <= 0 || capacity < 0)
+            throw new IllegalArgumentException("Width and capacity must be positive");
+        this.codec = codec;
+        this.width = codec.width();
+        this.capacity = capacity;
+        buffer = ByteBuffer.allocateDirect(byteCount(capacity));
+        size = 0;
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list by setting size to 0, the memory is kept for reuse
+        Time complexity: O(1)
+     */
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Release the direct memory now instead of when the buffer is garbage collected
+        Any later call that touches the elements throws IllegalStateException
+        Time complexity: O(1)
+     */
+    public void close() {
+        if (buffer != null) {
+            free(buffer);
+            buffer = null;
+            size = capacity = 0;
+            modCount++;
+        }
+    }
+
+    /**
+        Method to add a new item at the end of the list
+        @param item the value of the item to be added
+        @return true if item was added successfully, false otherwise
+        Time complexity: O(1) or O(n) if the buffer needs to grow
+    */
+    public boolean add(E item) {
+        ensureCapacity(size + 1);
+        codec.write(buffer, size * width, item);
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Method to add a new item at a given position index
+        @param index the position where item should be added
+        @param item the value of the element to be added
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+        Time complexity: O(n)
+    */
+    public void add(int index, E item) {
+        if (index > size || index < 0)
+            throw new ArrayIndexOutOfBoundsException();
+        ensureCapacity(size + 1);
+        moveSlots(index, index + 1, size - index);
+        codec.write(buffer, index * width, item);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Linear search method
+     * @param o the object being searched
+     * @return true if o was found in the list, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Get the value of the element at index, decoded from its slot
+        @param index of the element being accessed
+        @return a new object holding the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        return codec.read(buffer, index * width);
+    }
+
+    /**
+        Set the value of the element at index
+        @param index of the element being modified
+        @param newValue new value of the element at index
+        @return the old value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E set(int index, E newValue) {
+        checkIndex(index);
+        E oldValue = codec.read(buffer, index * width);
+        codec.write(buffer, index * width, newValue);
+        return oldValue;
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0)
+            return false;
+        remove(index);
+        return true;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one pass: each run of kept slots
+        between two removed elements is moved down with a single block move.
+        If the predicate throws, the elements it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        checkOpen();
+        int oldSize = size;
+        int read = 0;
+        int write = 0;
+        // first slot of the run of kept elements not moved yet
+        int keepFrom = 0;
+        try {
+            for (; read < size; read++) {
+                if (filter.test(codec.read(buffer, read * width))) {
+                    if (write != keepFrom)
+                        moveSlots(keepFrom, write, read - keepFrom);
+                    write += read - keepFrom;
+                    keepFrom = read + 1;
+                }
+            }
+        } finally {
+            if (write != keepFrom)
+                moveSlots(keepFrom, write, size - keepFrom);
+            write += size - keepFrom;
+            if (write < size) {
+                size = write;
+                modCount++;
+            }
+        }
+        return size < oldSize;
+    }
+
+    /**
+        Remove the element at a given index
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        E val = codec.read(buffer, index * width);
+        moveSlots(index + 1, index, size - index - 1);
+        size--;
+        modCount++;
+        return val;
+    }
+
+    /**
+        Reduce the buffer to the size of the list
+        Time complexity: O(n)
+     */
+    public void trimToSize() {
+        checkOpen();
+        if (size != capacity)
+            resize(size);
+    }
+
+    /**
+        Grow the buffer to hold at least minCapacity elements
+        @param minCapacity the number of elements the buffer must be able to hold
+        Time complexity: O(n) if the buffer grows, O(1) otherwise
+     */
+    private void ensureCapacity(int minCapacity) {
+        checkOpen();
+        if (minCapacity > capacity)
+            resize(Math.max(Math.min(capacity + (capacity >> 1), Integer.MAX_VALUE / width), minCapacity));
+    }
+
+    /**
+        Move the encoded elements to a new buffer of newCapacity slots and free the old one
+        @param newCapacity the number of slots in the new buffer, at least size
+        Time complexity: O(n)
+     */
+    private void resize(int newCapacity) {
+        ByteBuffer newBuffer = ByteBuffer.allocateDirect(byteCount(newCapacity));
+        ByteBuffer used = buffer.duplicate();
+        used.position(0).limit(size * width);
+        newBuffer.put(used);
+        free(buffer);
+        buffer = newBuffer;
+        capacity = newCapacity;
+    }
+
+    /**
+        @param slots a number of slots
+        @return the number of bytes used by slots
+        @throws OutOfMemoryError if the bytes do not fit in one buffer
+        Time complexity: O(1)
+     */
+    private int byteCount(int slots) {
+        long bytes = (long) slots * width;
+        if (bytes > Integer.MAX_VALUE)
+            throw new OutOfMemoryError("Off-heap list larger than " + Integer.MAX_VALUE + " bytes");
+        return (int) bytes;
+    }
+
+    /**
+        Copy count slots from position from to position to, the ranges may overlap
+        @param from the first slot to copy
+        @param to the first slot to copy into
+        @param count the number of slots to copy
+        Time complexity: O(count)
+     */
+    private void moveSlots(int from, int to, int count) {
+        moveBytes(buffer, from * width, to * width, count * width);
+    }
+
+    /**
+        Copy length bytes of a buffer from offset src to offset dst, the ranges may overlap
+        The bytes go through a small heap array, front to back or back to front depending on the direction
+        @param buffer the buffer whose bytes are moved
+        @param src the first byte to copy
+        @param dst the first byte to copy into
+        @param length the number of bytes to copy
+        Time complexity: O(length)
+     */
+    static void moveBytes(ByteBuffer buffer, int src, int dst, int length) {
+        byte[] chunk = new byte[Math.min(8192, Math.max(1, length))];
+        int remaining = length;
+        ByteBuffer reader = buffer.duplicate(), writer = buffer.duplicate();
+        if (dst > src) {
+            src += remaining;
+            dst += remaining;
+        }
+        while (remaining > 0) {
+            int n = Math.min(chunk.length, remaining);
+            if (dst > src) {
+                src -= n;
+                dst -= n;
+            }
+            reader.position(src);
+            reader.get(chunk, 0, n);
+            writer.position(dst);
+            writer.put(chunk, 0, n);
+            if (dst < src) {
+                src += n;
+                dst += n;
+            }
+            remaining -= n;
+        }
+    }
+
+    /**
+        Release a direct or mapped buffer through the JDK cleaner, or leave it to the garbage collector if that is not available
+        @param old the buffer to release, it must not be used afterwards
+        Time complexity: O(1)
+     */
+    static void free(ByteBuffer old) {
+        if (INVOKE_CLEANER == null)
+            return;
+        try {
+            INVOKE_CLEANER.invoke(UNSAFE, old);
+        } catch (ReflectiveOperationException e) {
+            // the buffer is released when it is collected
+        }
+    }
+
+    // sun.misc.Unsafe and its invokeCleaner method, null when the jdk.unsupported module is missing
+    private static final Object UNSAFE;
+    private static final Method INVOKE_CLEANER;
+
+    static {
+        Object unsafe = null;
+        Method invokeCleaner = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafe = theUnsafe.get(null);
+            invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            unsafe = null;
+            invokeCleaner = null;
+        }
+        UNSAFE = unsafe;
+        INVOKE_CLEANER = invokeCleaner;
+    }
+
+    /**
+        Check that the list was not closed
+        @throws IllegalStateException if close() was called
+        Time complexity: O(1)
+     */
+    private void checkOpen() {
+        if (buffer == null)
+            throw new IllegalStateException("The list is closed");
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        @throws IllegalStateException if the list is closed
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        checkOpen();
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object that decodes a new object for every element
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new OffHeapIterator(null);
+    }
+
+    /**
+        Iterator that decodes every element into the same flyweight object
+        The object returned by next() is overwritten by the following call, so it must be
+        copied if it is kept; the codec decides whether it can reuse the object
+        @param flyweight the mutable object that receives each element
+        @return iterator object pointing to the first element in the list
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator(E flyweight) {
+        return new OffHeapIterator(Objects.requireNonNull(flyweight));
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>
+     */
+    private class OffHeapIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member flyweight: the object reused for every element, null to decode new objects
+        private final E flyweight;
+        // data member expectedModCount: modCount of the list when the iterator was created
+        private final int expectedModCount = modCount;
+
+        OffHeapIterator(E flyweight) {
+            this.flyweight = flyweight;
+        }
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws ArrayIndexOutOfBoundsException if current is out of bounds
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (current >= size)
+                throw new ArrayIndexOutOfBoundsException("No more elements");
+            int offset = current++ * width;
+            return flyweight == null ? codec.read(buffer, offset) : codec.read(buffer, offset, flyweight);
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(codec.read(buffer, i * width)).append(" ");
+        if (size > 0)
+            output.append(codec.read(buffer, (size - 1) * width));
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection to this list
+        The buffer grows at most once
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        int count = c.size();
+        if (count == 0)
+            return false;
+        ensureCapacity(size + count);
+        Iterator<E> iterator = c.iterator();
+        for (int i = 0; i < count; i++)
+            codec.write(buffer, (size + i) * width, iterator.next());
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!codec.read(buffer, i * width).equals(iter.next()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (codec.read(buffer, i * width).equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (codec.read(buffer, i * width).equals(o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array of decoded elements
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++)
+            array[i] = codec.read(buffer, i * width);
+        return array;
+    }
+
+    /**
+        Sorts this list according to the order induced by the specified Comparator
+        The elements are decoded to the heap, sorted and encoded back
+        @param c the Comparator used to compare list elements
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        E[] array = (E[]) toArray();
+        Arrays.sort(array, c);
+        for (int i = 0; i < size; i++)
+            codec.write(buffer, i * width, array[i]);
+        modCount++;
+    }
+}
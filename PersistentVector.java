@@ -0,0 +1,686 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * Generic class to implement an immutable list as a 32-way trie with a tail buffer
+ * plus, with and pop return a new vector that shares all but one path of the trie with
+ * the old one, so any version can be handed to other threads as a snapshot without a copy.
+ * The last 32 elements live in a separate tail array, which makes most appends a copy of
+ * the tail only. The mutating methods of List throw UnsupportedOperationException; bulk
+ * loads go through asTransient(), which edits its own nodes in place.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public final class PersistentVector<E> implements List<E> {
+    // constants: bits of the index used by each level of the trie and the node width
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    // constant: the empty vector shared by every element type
+    private static final PersistentVector<?> EMPTY =
+        new PersistentVector<>(0, BITS, new Node(null, new Object[WIDTH]), new Object[0]);
+
+    // data member: number of elements
+    private final int size;
+    // data member: number of index bits below the root level
+    private final int shift;
+    // data member: root of the trie holding every element before the tail
+    private final Node root;
+    // data member: the last 1 to 32 elements, not yet pushed into the trie
+    private final Object[] tail;
+
+    /**
+     * Inner class Node, one level of the trie
+     * edit is the token of the transient that may change the node in place, or null
+     */
+    private static final class Node {
+        final Edit edit;
+        final Object[] array;
+
+        Node(Edit edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+    }
+
+    /**
+     * Inner class Edit, the ownership token of one transient
+     */
+    private static final class Edit {
+        boolean live = true;
+    }
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+        @return the empty vector
+        Time complexity: O(1)
+     */
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    /**
+        Build a vector holding the elements of a collection, such as an ArrayList
+        @param c the collection whose elements are copied
+        @return a new vector with the elements of c in iteration order
+        Time complexity: O(n)
+     */
+    public static <E> PersistentVector<E> from(Collection<E> c) {
+        Transient<E> builder = PersistentVector.<E>empty().asTransient();
+        Iterator<E> iterator = c.iterator();
+        while (iterator.hasNext())
+            builder.add(iterator.next());
+        return builder.persistent();
+    }
+
+    /**
+        Copy the elements into a new ArrayList
+        @return a new ArrayList holding the elements of this vector
+        Time complexity: O(n)
+     */
+    public ArrayList<E> toArrayList() {
+        ArrayList<E> list = new ArrayList<>(size);
+        list.addAll(this);
+        return list;
+    }
+
+    /**
+        Get the size of the vector
+        @return the number of elements in the vector
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Predicate to check if the vector is empty
+        @return true if the vector is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(log32 n), at most 7 levels for any int size
+     */
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    /**
+        Return a new vector with item appended; this vector is unchanged
+        @param item the value of the item to be added
+        @return the new vector
+        Time complexity: O(1) while the tail has room, O(log32 n) when the tail is pushed into the trie
+     */
+    public PersistentVector<E> plus(E item) {
+        if (size - tailOffset(size) < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = item;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            Object[] array = new Object[WIDTH];
+            array[0] = root;
+            array[1] = newPath(null, shift, tailNode);
+            newRoot = new Node(null, array);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(null, size, shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] {item});
+    }
+
+    /**
+        Return a new vector with the element at index replaced; this vector is unchanged
+        @param index of the element being replaced
+        @param newValue new value of the element at index
+        @return the new vector, sharing every other path with this one
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(log32 n)
+     */
+    public PersistentVector<E> with(int index, E newValue) {
+        checkIndex(index, size);
+        if (index >= tailOffset(size)) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = newValue;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, newValue), tail);
+    }
+
+    /**
+        Return a new vector without the last element; this vector is unchanged
+        @return the new vector
+        @throws NoSuchElementException if the vector is empty
+        Time complexity: O(1) while the tail has more than one element, O(log32 n) otherwise
+     */
+    public PersistentVector<E> pop() {
+        if (size == 0)
+            throw new NoSuchElementException();
+        if (size == 1)
+            return empty();
+        if (size - tailOffset(size) > 1)
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        Object[] newTail = arrayFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null)
+            newRoot = new Node(null, new Object[WIDTH]);
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+        Start a bulk edit; the transient changes its own copies of the nodes in place
+        @return a transient holding the elements of this vector, which is unchanged
+        Time complexity: O(1)
+     */
+    public Transient<E> asTransient() {
+        return new Transient<>(this);
+    }
+
+    /**
+     * Class to build a vector with in-place edits, for bulk loads
+     * Nodes created by the transient are changed in place until persistent() is called;
+     * nodes shared with other vectors are copied the first time they are changed. A
+     * transient must be used by one thread at a time.
+     */
+    public static final class Transient<E> {
+        // data members: same meaning as in PersistentVector, the tail always has WIDTH slots
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+        // data member: the token of the nodes this transient may change in place
+        private final Edit edit = new Edit();
+
+        private Transient(PersistentVector<E> v) {
+            size = v.size;
+            shift = v.shift;
+            root = new Node(edit, v.root.array.clone());
+            tail = Arrays.copyOf(v.tail, WIDTH);
+        }
+
+        /**
+            Get the number of elements added so far
+            @return the size of the vector being built
+            Time complexity: O(1)
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+            Get the value of the element at index
+            @param index of the element being accessed
+            @return the value of the element at index
+            @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+            @throws IllegalStateException if persistent() was called
+            Time complexity: O(log32 n)
+         */
+        public E get(int index) {
+            ensureLive();
+            checkIndex(index, size);
+            if (index >= tailOffset(size))
+                return (E) tail[index & MASK];
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS)
+                node = (Node) node.array[(index >>> level) & MASK];
+            return (E) node.array[index & MASK];
+        }
+
+        /**
+            Append an element in place
+            @param item the value of the item to be added
+            @return this transient
+            @throws IllegalStateException if persistent() was called
+            Time complexity: O(1) amortized
+         */
+        public Transient<E> add(E item) {
+            ensureLive();
+            if (size - tailOffset(size) < WIDTH) {
+                tail[size & MASK] = item;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(edit, tail);
+            tail = new Object[WIDTH];
+            tail[0] = item;
+            if ((size >>> BITS) > (1 << shift)) {
+                Object[] array = new Object[WIDTH];
+                array[0] = root;
+                array[1] = newPath(edit, shift, tailNode);
+                root = new Node(edit, array);
+                shift += BITS;
+            } else {
+                root = pushTail(edit, size, shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        /**
+            Replace the element at index in place
+            @param index of the element being replaced
+            @param newValue new value of the element at index
+            @return this transient
+            @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+            @throws IllegalStateException if persistent() was called
+            Time complexity: O(log32 n)
+         */
+        public Transient<E> set(int index, E newValue) {
+            ensureLive();
+            checkIndex(index, size);
+            if (index >= tailOffset(size)) {
+                tail[index & MASK] = newValue;
+                return this;
+            }
+            Node node = editable(root);
+            root = node;
+            for (int level = shift; level > 0; level -= BITS) {
+                int slot = (index >>> level) & MASK;
+                Node child = editable((Node) node.array[slot]);
+                node.array[slot] = child;
+                node = child;
+            }
+            node.array[index & MASK] = newValue;
+            return this;
+        }
+
+        /**
+            Finish the bulk edit; the transient cannot be used afterwards
+            @return a vector holding the elements added
+            @throws IllegalStateException if persistent() was already called
+            Time complexity: O(1)
+         */
+        public PersistentVector<E> persistent() {
+            ensureLive();
+            edit.live = false;
+            if (size == 0)
+                return empty();
+            return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+        }
+
+        /**
+            @param node a node of the trie
+            @return node itself if this transient owns it, otherwise a copy owned by this transient
+            Time complexity: O(1)
+         */
+        private Node editable(Node node) {
+            return node.edit == edit ? node : new Node(edit, node.array.clone());
+        }
+
+        /**
+            @throws IllegalStateException if persistent() was called
+            Time complexity: O(1)
+         */
+        private void ensureLive() {
+            if (!edit.live)
+                throw new IllegalStateException("Transient used after persistent()");
+        }
+    }
+
+    /**
+        @param size the number of elements
+        @return the index of the first element held in the tail
+        Time complexity: O(1)
+     */
+    private static int tailOffset(int size) {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+        @param index a valid index
+        @return the array holding the element at index, a leaf of the trie or the tail
+        Time complexity: O(log32 n)
+     */
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset(size))
+            return tail;
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS)
+            node = (Node) node.array[(index >>> level) & MASK];
+        return node.array;
+    }
+
+    /**
+        Build a chain of single-child nodes from level down to a leaf
+        @param edit the owner of the new nodes, null for a persistent vector
+        @param level the level of the top node of the chain
+        @param node the leaf at the bottom of the chain
+        @return the top node of the chain
+        Time complexity: O(level / BITS)
+     */
+    private static Node newPath(Edit edit, int level, Node node) {
+        if (level == 0)
+            return node;
+        Object[] array = new Object[WIDTH];
+        array[0] = newPath(edit, level - BITS, node);
+        return new Node(edit, array);
+    }
+
+    /**
+        Insert a full tail as the rightmost leaf of the trie, copying the path unless edit owns it
+        @param edit the owner of the nodes that may change in place, null to copy every node
+        @param size the number of elements including the tail
+        @param level the level of parent
+        @param parent the node the leaf goes under
+        @param tailNode the leaf holding the tail
+        @return the new version of parent
+        Time complexity: O(log32 n)
+     */
+    private static Node pushTail(Edit edit, int size, int level, Node parent, Node tailNode) {
+        Node result = (edit != null && parent.edit == edit) ? parent : new Node(edit, parent.array.clone());
+        int slot = ((size - 1) >>> level) & MASK;
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) parent.array[slot];
+            insert = (child != null) ? pushTail(edit, size, level - BITS, child, tailNode)
+                                     : newPath(edit, level - BITS, tailNode);
+        }
+        result.array[slot] = insert;
+        return result;
+    }
+
+    /**
+        Copy the path to index with the element replaced
+        @param level the level of node
+        @param node the node on the path to index
+        @param index the index of the element
+        @param value the new value of the element
+        @return the new version of node
+        Time complexity: O(log32 n)
+     */
+    private static Node assoc(int level, Node node, int index, Object value) {
+        Object[] array = node.array.clone();
+        if (level == 0) {
+            array[index & MASK] = value;
+        } else {
+            int slot = (index >>> level) & MASK;
+            array[slot] = assoc(level - BITS, (Node) node.array[slot], index, value);
+        }
+        return new Node(null, array);
+    }
+
+    /**
+        Copy the path to the rightmost leaf without that leaf
+        @param level the level of node
+        @param node the node on the path to the rightmost leaf
+        @return the new version of node, or null if it became empty
+        Time complexity: O(log32 n)
+     */
+    private Node popTail(int level, Node node) {
+        int slot = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[slot]);
+            if (child == null && slot == 0)
+                return null;
+            Object[] array = node.array.clone();
+            array[slot] = child;
+            return new Node(null, array);
+        } else if (slot == 0) {
+            return null;
+        }
+        Object[] array = node.array.clone();
+        array[slot] = null;
+        return new Node(null, array);
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @param size the number of elements
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        @return an exception for the List methods that would change the vector
+        Time complexity: O(1)
+     */
+    private static UnsupportedOperationException immutable() {
+        return new UnsupportedOperationException("PersistentVector is immutable, use plus, with, pop or asTransient");
+    }
+
+    /**
+        Not supported, use plus
+        @throws UnsupportedOperationException always
+     */
+    public boolean add(E item) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use asTransient to build a new vector
+        @throws UnsupportedOperationException always
+     */
+    public void add(int index, E item) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use with
+        @throws UnsupportedOperationException always
+     */
+    public E set(int index, E newValue) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use pop to remove the last element
+        @throws UnsupportedOperationException always
+     */
+    public boolean remove(Object o) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use pop to remove the last element
+        @throws UnsupportedOperationException always
+     */
+    public E remove(int index) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use empty
+        @throws UnsupportedOperationException always
+     */
+    public void clear() {
+        throw immutable();
+    }
+
+    /**
+        Not supported, use asTransient to append many elements
+        @throws UnsupportedOperationException always
+     */
+    public boolean addAll(Collection<E> c) {
+        throw immutable();
+    }
+
+    /**
+        Not supported, sort a copy from toArrayList and build a new vector with from
+        @throws UnsupportedOperationException always
+     */
+    public void sort(Comparator<E> c) {
+        throw immutable();
+    }
+
+    /**
+     * Linear search method
+     * @param o the object being searched
+     * @return true if o was found in the vector, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this vector
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this vector does not contain the element
+        Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] chunk = arrayFor(i);
+            for (int j = 0; j < WIDTH && i + j < size; j++) {
+                if (Objects.equals(chunk[j], o))
+                    return i + j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this vector
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this vector does not contain the element
+        Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(get(i), o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this vector in proper sequence (from first to last element)
+        @return an array containing all of the elements in this vector in proper sequence
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i += WIDTH) {
+            Object[] chunk = arrayFor(i);
+            System.arraycopy(chunk, 0, array, i, Math.min(WIDTH, size - i));
+        }
+        return array;
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object pointing to the first element in the vector
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new VectorIterator();
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>, one leaf at a time
+        The vector never changes, so the iterator never fails
+     */
+    private class VectorIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member chunk: the leaf or tail holding the element at current
+        private Object[] chunk;
+
+        /**
+            @return true if current did not reach the end of the vector, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws NoSuchElementException if current is out of bounds
+            Time complexity: O(1) amortized
+         */
+        public E next() {
+            if (current >= size)
+                throw new NoSuchElementException("No more elements");
+            if ((current & MASK) == 0)
+                chunk = arrayFor(current);
+            return (E) chunk[current++ & MASK];
+        }
+    }
+
+    /**
+        @override spliterator() from the interface Collection
+        @return an IMMUTABLE spliterator over the vector
+        Time complexity: O(1)
+     */
+    public Spliterator<E> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the vector
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        Iterator<E> iter = iterator();
+        while (iter.hasNext()) {
+            output.append(iter.next());
+            if (iter.hasNext())
+                output.append(" ");
+        }
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Compares the specified object with this vector for equality
+        @param o the object to be compared for equality with this vector
+        @return true if the specified object is a list with equal elements in the same order
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        Iterator<E> mine = iterator();
+        while (mine.hasNext()) {
+            if (!Objects.equals(mine.next(), iter.next()))
+                return false;
+        }
+        return true;
+    }
+}
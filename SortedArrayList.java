@@ -0,0 +1,562 @@
+import java.util.Iterator;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Generic class to implement an array-based list kept in the order of a comparator
+ * add finds the position by binary search and makes room with one block shift, so the list
+ * never needs sorting. indexOf, lastIndexOf, contains, floor, ceiling and the range lookups
+ * run in O(log n) comparisons. Equal elements keep their insertion order, and addAll sorts
+ * the incoming batch and merges it with the list in one pass from the back.
+ * Elements cannot be placed at an index, so add(int, E) and set are not supported.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ */
+public class SortedArrayList<E> implements List<E> {
+    // data member: array for the list elements, in ascending order
+    private E[] elements;
+    // data member: size of the list
+    private int size;
+    // data member: the order kept by the list, null for the natural order of the elements
+    private Comparator<? super E> comparator;
+    // data member: number of structural modifications, checked by iterators
+    private int modCount;
+
+    /**
+        Default constructor creates an empty list in the natural order of its elements
+        Time complexity: O(1)
+    */
+    public SortedArrayList() {
+        this(null, 10);
+    }
+
+    /**
+        Constructor with the comparator that orders the list
+        @param comparator the order kept by the list, or null for the natural order
+        Time complexity: O(1)
+    */
+    public SortedArrayList(Comparator<? super E> comparator) {
+        this(comparator, 10);
+    }
+
+    /**
+        Constructor with the comparator and the initial length of the array
+        @param comparator the order kept by the list, or null for the natural order
+        @param capacity length of the array elements
+        Time complexity: O(1)
+    */
+    public SortedArrayList(Comparator<? super E> comparator, int capacity) {
+        elements = (E[]) new Object[capacity];
+        this.comparator = comparator;
+        size = 0;
+    }
+
+    /**
+        @return the comparator that orders the list, or null if it uses the natural order
+        Time complexity: O(1)
+     */
+    public Comparator<? super E> comparator() {
+        return comparator;
+    }
+
+    /**
+        Get the size of the list
+        @return the number of elements in the list
+        Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+        Clear the list
+        Time complexity: O(n)
+     */
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+        Predicate to check if the list is empty
+        @return true if the list is empty, false otherwise
+        Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+        Method to add a new item at its place in the order, after any equal elements
+        @param item the value of the item to be added
+        @return true
+        @throws ClassCastException if the list uses the natural order and item is not Comparable
+        Time complexity: O(log n) comparisons and an O(n) block shift
+    */
+    public boolean add(E item) {
+        int index = upperBound(item);
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Not supported, the position of an element is given by the order
+        @throws UnsupportedOperationException always
+     */
+    public void add(int index, E item) {
+        throw new UnsupportedOperationException("add(int, E) on a sorted list");
+    }
+
+    /**
+     * Binary search method
+     * @param o the object being searched
+     * @return true if o was found in this list, false otherwise
+     * Time complexity: O(log n + k) where k is the number of elements that compare equal to o
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+        Get the value of the element at index
+        @param index of the element being accessed
+        @return the value of the element at index
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(1)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+        Not supported, the new value could break the order
+        @throws UnsupportedOperationException always
+     */
+    public E set(int index, E newValue) {
+        throw new UnsupportedOperationException("set on a sorted list");
+    }
+
+    /**
+     * Remove an object from the list
+     * @param o the object to remove from the list
+     * @return true if o was found and removed or false if o was not found
+     * Time complexity: O(log n) to find o, O(n) for the array shift
+     */
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0)
+            return false;
+        remove(i);
+        return true;
+    }
+
+    /**
+        Remove the element at a given index
+        @param index the position of the element to be removed
+        @return the value of the element that was removed
+        @throws ArrayIndexOutOfBoundsException if index < 0 or index >= size
+        Time complexity: O(n)
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        E val = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return val;
+    }
+
+    /**
+        Remove every element that satisfies a predicate in one compaction pass: kept elements
+        are moved down behind a write cursor and the vacated tail slots are cleared.
+        The kept elements stay in order, so the list stays sorted.
+        If the predicate throws, the elements it did not test are kept
+        @param filter a predicate which returns true for the elements to be removed
+        @return true if any elements were removed
+        Time complexity: O(n)
+     */
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        int oldSize = size;
+        int read = 0;
+        int write = 0;
+        try {
+            for (; read < size; read++) {
+                E e = elements[read];
+                if (!filter.test(e)) {
+                    if (write != read)
+                        elements[write] = e;
+                    write++;
+                }
+            }
+        } finally {
+            if (read < size) {
+                if (write != read)
+                    System.arraycopy(elements, read, elements, write, size - read);
+                write += size - read;
+            }
+            if (write < size) {
+                Arrays.fill(elements, write, size, null);
+                modCount++;
+                size = write;
+            }
+        }
+        return size < oldSize;
+    }
+
+    /**
+        Reduce the capacity of the array to the size of the list
+        Time complexity: O(n)
+     */
+    public void trimToSize() {
+        if (size != elements.length)
+            elements = Arrays.copyOf(elements, size);
+    }
+
+    /**
+        Grow the array to hold at least minCapacity elements
+        @param minCapacity the number of elements the array must be able to hold
+        Time complexity: O(n) if the array grows, O(1) otherwise
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length)
+            elements = Arrays.copyOf(elements, Math.max(elements.length + (elements.length >> 1), minCapacity));
+    }
+
+    /**
+        Check if the index is valid
+        @param index to be checked
+        @throws ArrayIndexOutOfBoundsException if index is out of bounds
+        Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new ArrayIndexOutOfBoundsException(
+                "Index out of bounds. Must be between 0 and " + (size - 1));
+    }
+
+    /**
+        Compare a key with an element in the order of the list
+        @param key the value searched for or inserted
+        @param element an element of the list
+        @return a negative number, zero or a positive number as key is less than, equal to or greater than element
+        @throws ClassCastException if key cannot be compared with the elements
+        Time complexity: O(1) comparisons
+     */
+    private int compare(Object key, E element) {
+        if (comparator == null)
+            return ((Comparable<Object>) key).compareTo(element);
+        return comparator.compare((E) key, element);
+    }
+
+    /**
+        @param key the value searched for
+        @return the index of the first element that is not less than key, size if there is none
+        Time complexity: O(log n)
+     */
+    private int lowerBound(Object key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, elements[mid]) > 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+        @param key the value searched for
+        @return the index of the first element that is greater than key, size if there is none
+        Time complexity: O(log n)
+     */
+    private int upperBound(Object key) {
+        int low = 0, high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compare(key, elements[mid]) >= 0)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /**
+        @param key the value searched for
+        @return the greatest element less than or equal to key, or null if there is none
+        Time complexity: O(log n)
+     */
+    public E floor(E key) {
+        int i = upperBound(key) - 1;
+        return (i >= 0) ? elements[i] : null;
+    }
+
+    /**
+        @param key the value searched for
+        @return the least element greater than or equal to key, or null if there is none
+        Time complexity: O(log n)
+     */
+    public E ceiling(E key) {
+        int i = lowerBound(key);
+        return (i < size) ? elements[i] : null;
+    }
+
+    /**
+        @param key the value searched for
+        @return the greatest element strictly less than key, or null if there is none
+        Time complexity: O(log n)
+     */
+    public E lower(E key) {
+        int i = lowerBound(key) - 1;
+        return (i >= 0) ? elements[i] : null;
+    }
+
+    /**
+        @param key the value searched for
+        @return the least element strictly greater than key, or null if there is none
+        Time complexity: O(log n)
+     */
+    public E higher(E key) {
+        int i = upperBound(key);
+        return (i < size) ? elements[i] : null;
+    }
+
+    /**
+        Count the elements in a range of values
+        @param from the low endpoint, inclusive
+        @param to the high endpoint, exclusive
+        @return the number of elements e with from <= e < to
+        @throws IllegalArgumentException if from is greater than to
+        Time complexity: O(log n)
+     */
+    public int countRange(E from, E to) {
+        if (compare(from, to) > 0)
+            throw new IllegalArgumentException("from is greater than to");
+        return lowerBound(to) - lowerBound(from);
+    }
+
+    /**
+        Copy the elements in a range of values into a new list with the same order
+        @param from the low endpoint, inclusive
+        @param to the high endpoint, exclusive
+        @return a new list holding the elements e with from <= e < to
+        @throws IllegalArgumentException if from is greater than to
+        Time complexity: O(log n + k) where k is the number of elements copied
+     */
+    public SortedArrayList<E> range(E from, E to) {
+        int count = countRange(from, to);
+        int low = lowerBound(from);
+        SortedArrayList<E> result = new SortedArrayList<>(comparator, Math.max(count, 1));
+        System.arraycopy(elements, low, result.elements, 0, count);
+        result.size = count;
+        return result;
+    }
+
+    /**
+        @override iterator() from the interface Collection
+        @return iterator object pointing to the first element in the list
+        Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new SortedIterator();
+    }
+
+    /**
+        Inner class to implement the interface Iterator<E>
+     */
+    private class SortedIterator implements Iterator<E> {
+        // data member current: the index of the element at which the iterator is pointing
+        private int current = 0;
+        // data member lastReturned: the index of the element last returned by next, -1 if none
+        private int lastReturned = -1;
+        // data member expectedModCount: modCount of the list when this iterator last changed it
+        private int expectedModCount = modCount;
+
+        /**
+            @return true if current did not reach the end of the list, false otherwise
+            Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        /**
+            @return the value of the current element and moves the index current to the next element
+            @throws ArrayIndexOutOfBoundsException if current is out of bounds
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (current >= size)
+                throw new ArrayIndexOutOfBoundsException("No more elements");
+            lastReturned = current;
+            return elements[current++];
+        }
+
+        /**
+            Remove the element last returned by next
+            @throws IllegalStateException if next was not called since the last remove
+            @throws ConcurrentModificationException if the list was structurally modified
+            Time complexity: O(n)
+         */
+        public void remove() {
+            if (lastReturned < 0)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            SortedArrayList.this.remove(lastReturned);
+            current = lastReturned;
+            lastReturned = -1;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+        @override toString() from class Object
+        @return a formatted string containing the elements of the list
+        Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        for (int i = 0; i < size - 1; i++)
+            output.append(elements[i]).append(" ");
+        if (size > 0)
+            output.append(elements[size - 1]);
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+        Adds all elements from the specified collection at their places in the order
+        The incoming elements are copied and sorted, then merged with the list from the back,
+        so every element of the list moves at most once and the array grows at most once
+        @param c the collection containing elements to be added
+        @return true if this list changed as a result of the call
+        Time complexity: O(m log m + n) where m is the size of c
+     */
+    public boolean addAll(Collection<E> c) {
+        int count = c.size();
+        if (count == 0)
+            return false;
+        E[] batch = (E[]) new Object[count];
+        Iterator<E> iterator = c.iterator();
+        for (int i = 0; i < count; i++)
+            batch[i] = iterator.next();
+        if (comparator == null)
+            Arrays.sort(batch);
+        else
+            Arrays.sort(batch, comparator);
+        ensureCapacity(size + count);
+        // equal elements already in the list stay in front of the new ones
+        int i = size - 1, j = count - 1;
+        for (int k = size + count - 1; j >= 0; k--) {
+            if (i >= 0 && compare(elements[i], batch[j]) > 0)
+                elements[k] = elements[i--];
+            else
+                elements[k] = batch[j--];
+        }
+        size += count;
+        modCount++;
+        return true;
+    }
+
+    /**
+        Compares the specified object with this list for equality
+        @param o the object to be compared for equality with this list
+        @return true if the specified object is equal to this list
+        Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(elements[i], iter.next()))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+        Returns the index of the first occurrence of the specified element in this list
+        Binary search finds the run of elements that compare equal to o, and equals picks o within it
+        @param o the element to search for
+        @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(log n + k) where k is the number of elements that compare equal to o
+     */
+    public int indexOf(Object o) {
+        int i;
+        try {
+            i = lowerBound(o);
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for (; i < size && compare(o, elements[i]) == 0; i++) {
+            if (Objects.equals(elements[i], o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns the index of the last occurrence of the specified element in this list
+        @param o the element to search for
+        @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+        Time complexity: O(log n + k) where k is the number of elements that compare equal to o
+     */
+    public int lastIndexOf(Object o) {
+        int i;
+        try {
+            i = upperBound(o) - 1;
+        } catch (ClassCastException | NullPointerException e) {
+            return -1;
+        }
+        for (; i >= 0 && compare(o, elements[i]) == 0; i--) {
+            if (Objects.equals(elements[i], o))
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+        Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+        @return an array containing all of the elements in this list in proper sequence
+        Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
+
+    /**
+        Sorts this list by another comparator, which becomes the order kept by later insertions
+        @param c the Comparator used to compare list elements, or null for the natural order
+        Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        if (c == null)
+            Arrays.sort(elements, 0, size);
+        else
+            Arrays.sort(elements, 0, size, c);
+        comparator = c;
+        modCount++;
+    }
+}
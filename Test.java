@@ -1,4 +1,5 @@
 import java.util.Comparator;
+import java.util.Iterator;
 
 /**
  * A test class for demonstrating and testing the functionality of the ArrayList and LinkedList classes.
@@ -120,5 +121,510 @@ public class Test {
         System.out.println("\nTest case 14: The addAll method in the LinkedList");
         llist.addAll(alist);
         System.out.println(llist);
+
+        System.out.println("\nTest case 15: The IntArrayList used as a List<Integer>");
+        IntArrayList ilist = new IntArrayList();
+        ilist.addAll(llist);
+        System.out.println(ilist + " == " + llist + " ? " + ilist.equals(llist));
+        ilist.sort();
+        System.out.println(ilist);
+        System.out.println("Index of 194 = " + ilist.indexOfInt(194));
+
+        System.out.println("\nTest case 16: The UnrolledLinkedList with the LinkedList scenario");
+        UnrolledLinkedList<Integer> ulist = new UnrolledLinkedList<>();
+        ulist.add(200);
+        ulist.addFirst(157);
+        ulist.addLast(182);
+        ulist.add(0, 194);
+        ulist.add(100);
+        ulist.add(5, 100);
+        ulist.add(2, 115);
+        System.out.println(ulist);
+        System.out.println("Index of 100 = " + ulist.indexOf(100) + ", last index of 100 = " + ulist.lastIndexOf(100));
+        ulist.sort(c);
+        System.out.println(ulist);
+
+        System.out.println("\nTest case 17: The CircularArrayList with the ArrayList scenario");
+        CircularArrayList<Integer> clist = new CircularArrayList<>();
+        clist.add(57);
+        clist.add(25);
+        clist.add(27);
+        clist.add(0, 6);
+        clist.add(39);
+        clist.add(3, 11);
+        clist.add(57);
+        clist.add(33);
+        System.out.println(clist);
+        System.out.println("Removed first " + clist.removeFirst() + " and last " + clist.removeLast());
+        clist.addFirst(33);
+        System.out.println(clist);
+
+        System.out.println("\nTest case 18: The ConcurrentLinkedDeque under concurrent producers and consumers");
+        ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+        deque.addLast(200);
+        deque.addFirst(157);
+        deque.addLast(182);
+        System.out.println(deque + " first = " + deque.getFirst() + ", last = " + deque.getLast());
+        System.out.println("Every element taken exactly once: " + dequeStress(4, 20000));
+        System.out.println("Each producer's values taken in FIFO order, pushed at the tail: " + dequeFifoStress(4, 20000, true)
+            + ", at the head: " + dequeFifoStress(4, 20000, false));
+
+        System.out.println("\nTest case 19: The IndexedList with the ArrayList scenario");
+        IndexedList<Integer> xlist = new IndexedList<>();
+        xlist.add(57);
+        xlist.add(25);
+        xlist.add(27);
+        xlist.add(0, 6);
+        xlist.add(39);
+        xlist.add(3, 11);
+        xlist.add(57);
+        xlist.add(33);
+        System.out.println(xlist);
+        System.out.println("Index of 57 = " + xlist.indexOf(57) + ", last index of 57 = " + xlist.lastIndexOf(57));
+        xlist.remove((Integer) 57);
+        System.out.println(xlist + " contains 57 ? " + xlist.contains(57) + ", index of 57 = " + xlist.indexOf(57));
+
+        System.out.println("\nTest case 20: The OffHeapArrayList with Integer slots in direct memory");
+        OffHeapArrayList<Integer> olist = new OffHeapArrayList<>(OffHeapArrayList.Codec.INTEGER);
+        olist.addAll(alist);
+        System.out.println(olist + " == " + alist + " ? " + olist.equals(alist));
+        olist.add(0, 100);
+        olist.remove(olist.size() - 1);
+        olist.sort(c);
+        System.out.println(olist + ", last index of 100 = " + olist.lastIndexOf(100));
+        olist.close();
+
+        System.out.println("\nTest case 21: The MappedArrayList reopened from its file");
+        try {
+            java.nio.file.Path file = java.nio.file.Files.createTempFile("mapped", ".list");
+            java.nio.file.Files.delete(file);
+            try (MappedArrayList<Integer> mlist = new MappedArrayList<>(file, OffHeapArrayList.Codec.INTEGER)) {
+                mlist.addAll(llist);
+                mlist.remove(0);
+                mlist.force();
+            }
+            try (MappedArrayList<Integer> mlist = new MappedArrayList<>(file, OffHeapArrayList.Codec.INTEGER)) {
+                System.out.println(mlist + " size = " + mlist.size());
+            }
+            java.nio.file.Files.delete(file);
+        } catch (java.io.IOException e) {
+            System.out.println(e.getMessage());
+        }
+
+        System.out.println("\nTest case 22: Binary round trip of an ArrayList and a LinkedList");
+        try {
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            ((ArrayList<Integer>) alist).writeTo(java.nio.channels.Channels.newChannel(bytes));
+            ArrayList<Integer> acopy = ArrayList.readFrom(java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray())));
+            System.out.println(acopy + " (" + bytes.size() + " bytes) == " + alist + " ? " + acopy.equals(alist));
+            bytes.reset();
+            ((LinkedList<Integer>) llist).writeTo(java.nio.channels.Channels.newChannel(bytes));
+            LinkedList<Integer> lcopy = LinkedList.readFrom(java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray())));
+            System.out.println(lcopy + " (" + bytes.size() + " bytes) == " + llist + " ? " + lcopy.equals(llist));
+        } catch (java.io.IOException e) {
+            System.out.println(e.getMessage());
+        }
+
+        System.out.println("\nTest case 23: Operation metrics of an ArrayList and a LinkedList");
+        ArrayList<Integer> mlist = new ArrayList<>(4);
+        ListMetrics am = mlist.enableMetrics();
+        mlist.addAll(alist);
+        mlist.add(0, 100);
+        mlist.remove((Integer) 194);
+        System.out.println("adds = " + am.getAdds() + ", removes = " + am.getRemoves() + ", resizes = " + am.getResizes()
+            + ", shifted = " + am.getElementsShifted() + ", compared = " + am.getElementsCompared());
+        LinkedList<Integer> nlist = new LinkedList<>();
+        ListMetrics lm = nlist.enableMetrics();
+        nlist.addAll(llist);
+        for (int i = 0; i < nlist.size(); i++)
+            nlist.get(i);
+        System.out.println("gets = " + lm.getGets() + ", nodes traversed = " + lm.getNodesTraversed());
+
+        System.out.println("\nTest case 24: Versions of a PersistentVector share structure");
+        PersistentVector<Integer> v1 = PersistentVector.from(alist);
+        PersistentVector<Integer> v2 = v1.with(0, 1).plus(300);
+        PersistentVector<Integer> v3 = v2.pop().pop();
+        System.out.println("v1 = " + v1);
+        System.out.println("v2 = " + v2);
+        System.out.println("v3 = " + v3 + ", v1 still equals alist ? " + v1.equals(alist));
+
+        System.out.println("\nTest case 25: Parallel aggregate operations on an ArrayList");
+        ArrayList<Integer> plist = v1.toArrayList();
+        plist.setParallelThreshold(4);
+        System.out.println("Index of 100 = " + plist.parallelIndexOf(100) + ", contains 300 ? " + plist.parallelContains(300)
+            + ", equals alist ? " + plist.parallelEquals(alist));
+        System.out.println("Elements over 100 = " + plist.count(x -> x > 100) + ", min = " + plist.min(Comparator.naturalOrder())
+            + ", max = " + plist.max(Comparator.naturalOrder()));
+
+        System.out.println("\nTest case 26: Bulk removal from an ArrayList and a LinkedList");
+        LinkedList<Integer> rlist = new LinkedList<>();
+        rlist.addAll(plist);
+        plist.removeIf(x -> x > 100);
+        System.out.println(plist);
+        rlist.retainAll(plist);
+        System.out.println(rlist);
+        System.out.println("Removed all ? " + rlist.removeAll(plist) + ", size = " + rlist.size());
+
+        System.out.println("\nTest case 27: Range views and range operations");
+        List<Integer> window = plist.subList(2, 6);
+        window.sort(Comparator.reverseOrder());
+        System.out.println(window + " in " + plist);
+        window.clear();
+        rlist.addAll(0, plist);
+        rlist.subList(1, 3).set(0, 0);
+        rlist.removeRange(3, rlist.size());
+        System.out.println(plist + ", " + rlist);
+
+        System.out.println("\nTest case 28: Streaming and bounded text output");
+        java.io.StringWriter text = new java.io.StringWriter();
+        try {
+            ((ArrayList<Integer>) alist).writeTo(text);
+        } catch (java.io.IOException e) {
+            System.out.println(e.getMessage());
+        }
+        System.out.println(text + " preview " + ((ArrayList<Integer>) alist).toString(3) + ", empty " + new LinkedList<Integer>());
+
+        System.out.println("\nTest case 29: Bounded LinkedBlockingQueue");
+        LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>(4);
+        System.out.println("offer 1-5: " + queue.offer(1) + " " + queue.offer(2) + " " + queue.offer(3) + " " + queue.offer(4) + " " + queue.offer(5) + " -> " + queue);
+        ArrayList<Integer> drained = new ArrayList<>();
+        System.out.println("drainTo(3) moved " + queue.drainTo(drained, 3) + ": " + drained + ", left " + queue + ", room " + queue.remainingCapacity());
+        System.out.println("Every element taken exactly once: " + queueStress(8, 5000, 16));
+
+        System.out.println("\nTest case 30: SortedArrayList keeps its order");
+        SortedArrayList<Integer> slist = new SortedArrayList<>();
+        slist.add(40);
+        slist.add(10);
+        slist.add(30);
+        ArrayList<Integer> incoming = new ArrayList<>();
+        incoming.add(35);
+        incoming.add(5);
+        incoming.add(20);
+        slist.addAll(incoming);
+        System.out.println(slist + " indexOf(30) " + slist.indexOf(30) + ", contains(25) " + slist.contains(25)
+            + ", floor(25) " + slist.floor(25) + ", ceiling(25) " + slist.ceiling(25)
+            + ", range [10, 35) " + slist.range(10, 35) + " count " + slist.countRange(10, 35));
+        slist.removeIf(x -> x % 10 == 0);
+        slist.add(25);
+        System.out.println("After removeIf(x % 10 == 0) and add(25): " + slist + ", indexOf(25) " + slist.indexOf(25));
+
+        System.out.println("\nTest case 31: A ConcurrentLinkedDeque that never empties releases removed nodes");
+        System.out.println("FIFO at the tail: " + dequeSteadyState(true, 2000000)
+            + ", FIFO at the head: " + dequeSteadyState(false, 2000000));
+
+        System.out.println("\nTest case 32: Bulk removal from the other collections");
+        IntArrayList ints = new IntArrayList();
+        CircularArrayList<Integer> ring = new CircularArrayList<>();
+        CopyOnWriteArrayList<Integer> shared = new CopyOnWriteArrayList<>();
+        LinkedBlockingQueue<Integer> pending = new LinkedBlockingQueue<>(8);
+        for (int i = 1; i <= 8; i++) {
+            ints.addInt(i);
+            ring.addFirst(i);
+            shared.add(i);
+            pending.offer(i);
+        }
+        ArrayList<Integer> odd = new ArrayList<>();
+        odd.add(1);
+        odd.add(3);
+        odd.add(5);
+        ints.removeIf(x -> x % 2 == 0);
+        ring.removeAll(odd);
+        shared.retainAll(odd);
+        pending.removeIf(x -> x > 2);
+        System.out.println(ints + " " + ring + " " + shared + " " + pending + ", room " + pending.remainingCapacity());
+        ConcurrentLinkedDeque<Integer> ends = new ConcurrentLinkedDeque<>();
+        for (int i = 1; i <= 8; i++)
+            ends.addLast(i);
+        ends.removeIf(x -> x % 2 == 0);
+        ends.retainAll(odd);
+        System.out.println(ends + " size " + ends.size() + ", first " + ends.getFirst() + ", last " + ends.getLast());
+
+        System.out.println("\nTest case 33: Serialized elements need an ObjectInputFilter");
+        try {
+            ArrayList<Object> dated = new ArrayList<>();
+            dated.add(7);
+            dated.add(java.time.LocalDate.of(2024, 6, 18));
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            dated.writeTo(java.nio.channels.Channels.newChannel(bytes));
+            try {
+                ArrayList.readFrom(java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray())));
+            } catch (java.io.InvalidObjectException e) {
+                System.out.println("Without a filter: " + e.getMessage());
+            }
+            java.io.ObjectInputFilter dates = java.io.ObjectInputFilter.Config.createFilter("java.time.*;!*");
+            System.out.println("With a filter: " + ArrayList.readFrom(
+                java.nio.channels.Channels.newChannel(new java.io.ByteArrayInputStream(bytes.toByteArray())), dates));
+        } catch (java.io.IOException e) {
+            System.out.println(e.getMessage());
+        }
+
+        System.out.println("\nTest case 34: CopyOnWriteArrayList iterators keep their snapshot");
+        CopyOnWriteArrayList<Integer> cow = new CopyOnWriteArrayList<>();
+        cow.add(1);
+        cow.add(2);
+        cow.add(3);
+        Iterator<Integer> before = cow.iterator();
+        cow.add(4);
+        cow.update(l -> {
+            l.remove(0);
+            l.add(0, 10);
+        });
+        ArrayList<Integer> more = new ArrayList<>();
+        more.add(5);
+        more.add(6);
+        cow.addAll(more);
+        Iterator<Integer> after = cow.iterator();
+        cow.clear();
+        System.out.print("Snapshot before the writes:");
+        while (before.hasNext())
+            System.out.print(" " + before.next());
+        System.out.print("\nSnapshot after the writes:");
+        while (after.hasNext())
+            System.out.print(" " + after.next());
+        System.out.println("\nList after clear: " + cow);
+
+        System.out.println("\nTest case 35: parallelSort matches sort above the parallel threshold");
+        System.out.println(parallelSortCheck(20011, 100));
+    }
+
+    /**
+     * Runs producers that put distinct values into a small LinkedBlockingQueue, half of
+     * them one at a time and half in batches through putAll, while one consumer takes
+     * and drains until every value is taken.
+     *
+     * @param producers   the number of producer threads
+     * @param perProducer the number of values put by each producer
+     * @param capacity    the capacity of the queue
+     * @return true if every value was taken exactly once and the queue ends empty
+     */
+    private static boolean queueStress(int producers, int perProducer, int capacity) {
+        LinkedBlockingQueue<Integer> queue = new LinkedBlockingQueue<>(capacity);
+        int total = producers * perProducer;
+        int[] seen = new int[total];
+        Thread[] workers = new Thread[producers];
+        for (int t = 0; t < producers; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    ArrayList<Integer> batch = new ArrayList<>();
+                    for (int i = 0; i < perProducer; i++) {
+                        if (id % 2 == 0) {
+                            queue.put(id * perProducer + i);
+                        } else {
+                            batch.add(id * perProducer + i);
+                            if (batch.size() == 10 || i == perProducer - 1) {
+                                queue.putAll(batch);
+                                batch = new ArrayList<>();
+                            }
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        for (Thread worker : workers)
+            worker.start();
+        ArrayList<Integer> drained = new ArrayList<>();
+        try {
+            for (int taken = 0; taken < total;) {
+                seen[queue.take()]++;
+                drained.clear();
+                taken += 1 + queue.drainTo(drained);
+                for (int i = 0; i < drained.size(); i++)
+                    seen[drained.get(i)]++;
+            }
+            for (Thread worker : workers)
+                worker.join();
+        } catch (InterruptedException e) {
+            return false;
+        }
+        for (int i = 0; i < total; i++) {
+            if (seen[i] != 1)
+                return false;
+        }
+        return queue.isEmpty();
+    }
+
+    /**
+     * Runs a ConcurrentLinkedDeque as a queue that always holds one element, adding at one end
+     * and polling at the other, and checks that the first value taken can be garbage collected,
+     * which fails if removed nodes stay linked from the live end.
+     *
+     * @param atTail true to add at the tail and poll at the head, false for the other direction
+     * @param rounds the number of add and poll pairs
+     * @return true if every poll returned the value added before it and the first value was collected
+     */
+    private static boolean dequeSteadyState(boolean atTail, int rounds) {
+        ConcurrentLinkedDeque<Object> deque = new ConcurrentLinkedDeque<>();
+        Object first = new Object();
+        java.lang.ref.WeakReference<Object> taken = new java.lang.ref.WeakReference<>(first);
+        Object expected = first;
+        deque.addLast(first);
+        first = null;
+        for (int i = 0; i < rounds; i++) {
+            Object next = new Object();
+            Object polled;
+            if (atTail) {
+                deque.addLast(next);
+                polled = deque.pollFirst();
+            } else {
+                deque.addFirst(next);
+                polled = deque.pollLast();
+            }
+            if (polled != expected)
+                return false;
+            expected = next;
+        }
+        for (int i = 0; i < 10 && taken.get() != null; i++)
+            System.gc();
+        return taken.get() == null && deque.size() == 1;
+    }
+
+    /**
+     * Runs producers that push distinct values at random ends of a ConcurrentLinkedDeque
+     * while the same number of consumers pop from random ends until every value is taken.
+     *
+     * @param threads     the number of producer threads and of consumer threads
+     * @param perProducer the number of values pushed by each producer
+     * @return true if every value was popped exactly once and the deque ends empty
+     */
+    private static boolean dequeStress(int threads, int perProducer) {
+        ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+        int total = threads * perProducer;
+        java.util.concurrent.atomic.AtomicIntegerArray seen = new java.util.concurrent.atomic.AtomicIntegerArray(total);
+        java.util.concurrent.atomic.AtomicInteger taken = new java.util.concurrent.atomic.AtomicInteger();
+        Thread[] workers = new Thread[2 * threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                java.util.Random random = new java.util.Random(id);
+                for (int i = 0; i < perProducer; i++) {
+                    if (random.nextBoolean())
+                        deque.addFirst(id * perProducer + i);
+                    else
+                        deque.addLast(id * perProducer + i);
+                }
+            });
+            workers[threads + t] = new Thread(() -> {
+                java.util.Random random = new java.util.Random(-id);
+                while (taken.get() < total) {
+                    Integer v = random.nextBoolean() ? deque.pollFirst() : deque.pollLast();
+                    if (v != null) {
+                        seen.incrementAndGet(v);
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread worker : workers)
+            worker.start();
+        try {
+            for (Thread worker : workers)
+                worker.join();
+        } catch (InterruptedException e) {
+            return false;
+        }
+        for (int i = 0; i < total; i++) {
+            if (seen.get(i) != 1)
+                return false;
+        }
+        return deque.isEmpty();
+    }
+
+    /**
+     * Sorts the same list of distinct values with sort and parallelSort by a key with
+     * many duplicates, the value modulo keys, and checks the two orders.
+     *
+     * @param n    a prime above the parallel threshold, the number of values
+     * @param keys the number of distinct keys
+     * @return the result of the checks: same order as sort, ascending keys, and equal
+     *         keys left in their original order
+     */
+    private static String parallelSortCheck(int n, int keys) {
+        ArrayList<Integer> sequential = new ArrayList<>();
+        ArrayList<Integer> parallel = new ArrayList<>();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            int value = (int) ((long) i * 7919 % n);
+            position[value] = i;
+            sequential.add(value);
+            parallel.add(value);
+        }
+        Comparator<Integer> byKey = Comparator.comparingInt(x -> x % keys);
+        sequential.sort(byKey);
+        parallel.parallelSort(byKey);
+        boolean ordered = true;
+        boolean stable = true;
+        for (int i = 1; i < n; i++) {
+            int a = parallel.get(i - 1);
+            int b = parallel.get(i);
+            if (a % keys > b % keys)
+                ordered = false;
+            else if (a % keys == b % keys && position[a] > position[b])
+                stable = false;
+        }
+        return "same as sort: " + parallel.equals(sequential) + ", ordered: " + ordered + ", stable: " + stable;
+    }
+
+    /**
+     * Runs producers that push increasing values at one end of a ConcurrentLinkedDeque
+     * while the same number of consumers poll the other end until every value is taken.
+     * A linearizable deque used this way is a FIFO queue, so every consumer must see the
+     * values of each producer in the order they were pushed.
+     *
+     * @param threads     the number of producer threads and of consumer threads
+     * @param perProducer the number of values pushed by each producer
+     * @param atTail      true to push at the tail and poll the head, false for the reverse
+     * @return true if every value was taken exactly once, each consumer saw the values of
+     *         every producer in increasing order, and the deque ends empty
+     */
+    private static boolean dequeFifoStress(int threads, int perProducer, boolean atTail) {
+        ConcurrentLinkedDeque<Integer> deque = new ConcurrentLinkedDeque<>();
+        int total = threads * perProducer;
+        java.util.concurrent.atomic.AtomicIntegerArray seen = new java.util.concurrent.atomic.AtomicIntegerArray(total);
+        java.util.concurrent.atomic.AtomicInteger taken = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.atomic.AtomicBoolean ordered = new java.util.concurrent.atomic.AtomicBoolean(true);
+        Thread[] workers = new Thread[2 * threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (atTail)
+                        deque.addLast(id * perProducer + i);
+                    else
+                        deque.addFirst(id * perProducer + i);
+                }
+            });
+            workers[threads + t] = new Thread(() -> {
+                // last value taken from each producer by this consumer
+                int[] last = new int[threads];
+                java.util.Arrays.fill(last, -1);
+                while (taken.get() < total) {
+                    Integer v = atTail ? deque.pollFirst() : deque.pollLast();
+                    if (v != null) {
+                        int producer = v / perProducer;
+                        if (v % perProducer <= last[producer])
+                            ordered.set(false);
+                        last[producer] = v % perProducer;
+                        seen.incrementAndGet(v);
+                        taken.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Thread worker : workers)
+            worker.start();
+        try {
+            for (Thread worker : workers)
+                worker.join();
+        } catch (InterruptedException e) {
+            return false;
+        }
+        for (int i = 0; i < total; i++) {
+            if (seen.get(i) != 1)
+                return false;
+        }
+        return ordered.get() && deque.isEmpty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,644 @@
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+
+/**
+ * UnrolledLinkedList Generic Class
+ * A doubly linked list of nodes that each hold a small array of values.
+ * Traversal touches one node per NODE_CAPACITY values, so scans run close to
+ * array speed, while inserting or removing in the middle only shifts values
+ * inside a single node.
+ * @author  Yinglong Lin
+ * @version Java 11 / VSCode
+ * @since   2024-6-18 (date of last revision)
+ * @param <E> the type of elements in this list
+ */
+public class UnrolledLinkedList<E> implements List<E> {
+    // maximum number of values held by one node
+    private static final int NODE_CAPACITY = 64;
+    // a node with fewer values than this is merged with its neighbor when possible
+    private static final int MIN_FILL = NODE_CAPACITY / 4;
+
+    // Data members
+    private Node head, tail;
+    private int size;
+    // number of structural modifications, checked by iterators
+    private int modCount;
+    // index of the first value of the node returned by the last call to nodeFor
+    private int startIndex;
+
+    /**
+     * Inner class Node
+     */
+    private class Node {
+        Object[] values = new Object[NODE_CAPACITY];
+        int count;
+        Node next;
+        Node prev;
+    }
+
+    /**
+     * Default Constructor
+     * creates an empty list
+     * Time complexity: O(1)
+     */
+    public UnrolledLinkedList() {
+        head = tail = null;
+        size = 0;
+    }
+
+    /**
+     * Get the number of values in the list
+     *
+     * @return the number of values in the list
+     * Time complexity: O(1)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Clear the list by resetting size to 0 and head and tail to null
+     * Time complexity: O(1)
+     */
+    public void clear() {
+        head = tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Check if the list is empty
+     *
+     * @return true if the list is empty
+     * Time complexity: O(1)
+     */
+    public boolean isEmpty() {
+        return (size == 0);
+    }
+
+    /**
+     * Adding a value at the tail of the list
+     *
+     * @param item the value to be added
+     * @return true if the operation was successful
+     * Time complexity: O(1)
+     */
+    public boolean add(E item) {
+        return addLast(item);
+    }
+
+    /**
+     * Adding a value at the head of the list
+     *
+     * @param value the value to be added
+     * @return true if the operation was successful
+     * Time complexity: O(NODE_CAPACITY)
+     */
+    public boolean addFirst(E value) {
+        if (head == null)
+            linkAfter(null);
+        insertAt(head, 0, value);
+        return true;
+    }
+
+    /**
+     * Adding a value at the tail of the list
+     *
+     * @param item the value to be added
+     * @return true if the operation was successful
+     * Time complexity: O(1)
+     */
+    public boolean addLast(E item) {
+        if (tail == null || tail.count == NODE_CAPACITY)
+            linkAfter(tail);
+        tail.values[tail.count++] = item;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Method to add a new item at a given position index
+     *
+     * @param index the position where item should be added
+     * @param item  the value of the element to be added
+     * @throws ArrayIndexOutOfBoundsException if index < 0 or index > size
+     * Time complexity: O(n / NODE_CAPACITY + NODE_CAPACITY)
+     */
+    public void add(int index, E item) {
+        if (index < 0 || index > size)
+            throw new ArrayIndexOutOfBoundsException();
+        if (index == size) {
+            addLast(item);
+            return;
+        }
+        Node node = nodeFor(index);
+        insertAt(node, index - startIndex, item);
+    }
+
+    /**
+     * Linear search method
+     *
+     * @param o the object being searched
+     * @return true if o was found in this list, false otherwise
+     * Time complexity: O(n)
+     */
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /**
+     * Get the value at the head of the list
+     *
+     * @return value at the head
+     * @throws NoSuchElementException if the list is empty
+     * Time complexity: O(1)
+     */
+    public E getFirst() {
+        if (head == null)
+            throw new NoSuchElementException();
+        return (E) head.values[0];
+    }
+
+    /**
+     * Get the value at the tail of the list
+     *
+     * @return value at the tail
+     * @throws NoSuchElementException if the list is empty
+     * Time complexity: O(1)
+     */
+    public E getLast() {
+        if (tail == null)
+            throw new NoSuchElementException();
+        return (E) tail.values[tail.count - 1];
+    }
+
+    /**
+     * Removes the value at the head of the list
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the list is empty
+     * Time complexity: O(NODE_CAPACITY)
+     */
+    public E removeFirst() {
+        if (head == null)
+            throw new NoSuchElementException();
+        return removeAt(head, 0);
+    }
+
+    /**
+     * Removes the value at the tail of the list
+     *
+     * @return the removed value
+     * @throws NoSuchElementException if the list is empty
+     * Time complexity: O(1)
+     */
+    public E removeLast() {
+        if (tail == null)
+            throw new NoSuchElementException();
+        return removeAt(tail, tail.count - 1);
+    }
+
+    /**
+     * Remove an object o from the list
+     *
+     * @param o the object to be removed
+     * @return true if o was found and removed, false if o not found
+     * Time complexity: O(n)
+     */
+    public boolean remove(Object o) {
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.values[i].equals(o)) {
+                    removeAt(node, i);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the element at the specified position in this list
+     *
+     * @param index the position of the element to be removed
+     * @return the element previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+     * Time complexity: O(n / NODE_CAPACITY + NODE_CAPACITY)
+     */
+    public E remove(int index) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        return removeAt(node, index - startIndex);
+    }
+
+    /**
+     * Returns the value of the element at the specified position in this list
+     *
+     * @param index the position of the element to return
+     * @return the value of the element at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+     * Time complexity: O(n / NODE_CAPACITY)
+     */
+    public E get(int index) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        return (E) node.values[index - startIndex];
+    }
+
+    /**
+     * Replaces the value of the element at the specified position in this list with the specified value
+     *
+     * @param index the position of the element to replace
+     * @param newVal the value to be stored at the specified position
+     * @return the value previously at the specified position
+     * @throws IndexOutOfBoundsException if the index is out of range (index < 0 || index >= size)
+     * Time complexity: O(n / NODE_CAPACITY)
+     */
+    public E set(int index, E newVal) {
+        checkIndex(index);
+        Node node = nodeFor(index);
+        int i = index - startIndex;
+        E oldVal = (E) node.values[i];
+        node.values[i] = newVal;
+        return oldVal;
+    }
+
+    /**
+     * Returns the index of the first occurrence of the specified element in this list, or -1 if this list does not contain the element
+     *
+     * @param o the element to search for
+     * @return the index of the first occurrence of the specified element, or -1 if this list does not contain the element
+     * Time complexity: O(n)
+     */
+    public int indexOf(Object o) {
+        int base = 0;
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (node.values[i].equals(o))
+                    return base + i;
+            }
+            base += node.count;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the index of the last occurrence of the specified element in this list, or -1 if this list does not contain the element
+     *
+     * @param o the element to search for
+     * @return the index of the last occurrence of the specified element, or -1 if this list does not contain the element
+     * Time complexity: O(n)
+     */
+    public int lastIndexOf(Object o) {
+        int base = size;
+        for (Node node = tail; node != null; node = node.prev) {
+            base -= node.count;
+            for (int i = node.count - 1; i >= 0; i--) {
+                if (node.values[i].equals(o))
+                    return base + i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * toString method
+     *
+     * @return a formatted string that contains the values of all the elements in the list
+     * Time complexity: O(n)
+     */
+    public String toString() {
+        StringBuilder output = new StringBuilder("[");
+        String separator = "";
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                output.append(separator).append(node.values[i]);
+                separator = " ";
+            }
+        }
+        output.append("]");
+        return output.toString();
+    }
+
+    /**
+     * Adds all of the elements in the specified collection to this list
+     *
+     * @param c the collection containing elements to be added
+     * @return true if this list changed as a result of the call
+     * Time complexity: O(n)
+     */
+    public boolean addAll(Collection<E> c) {
+        boolean modified = false;
+        for (Iterator<E> iterator = c.iterator(); iterator.hasNext();) {
+            addLast(iterator.next());
+            modified = true;
+        }
+        return modified;
+    }
+
+    /**
+     * Compares the specified object with this list for equality
+     *
+     * @param o the object to be compared for equality with this list
+     * @return true if the specified object is equal to this list
+     * Time complexity: O(n)
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof List))
+            return false;
+        List<?> list = (List<?>) o;
+        if (list.size() != size)
+            return false;
+        Iterator<?> iter = list.iterator();
+        for (Node node = head; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (!node.values[i].equals(iter.next()))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Sorts this list according to the order induced by the specified Comparator
+     *
+     * @param c the Comparator used to compare list elements
+     * Time complexity: O(n log n)
+     */
+    public void sort(Comparator<E> c) {
+        if (size <= 1)
+            return;
+        Object[] array = toArray();
+        Arrays.sort((E[]) array, c);
+        int k = 0;
+        for (Node node = head; node != null; node = node.next) {
+            System.arraycopy(array, k, node.values, 0, node.count);
+            k += node.count;
+        }
+        modCount++;
+    }
+
+    /**
+     * Returns an array containing all of the elements in this list in proper sequence (from first to last element)
+     *
+     * @return an array containing all of the elements in this list in proper sequence
+     * Time complexity: O(n)
+     */
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        int k = 0;
+        for (Node node = head; node != null; node = node.next) {
+            System.arraycopy(node.values, 0, array, k, node.count);
+            k += node.count;
+        }
+        return array;
+    }
+
+    /**
+     * iterator method
+     *
+     * @return an iterator object pointing to the first value in the list
+     * Time complexity: O(1)
+     */
+    public Iterator<E> iterator() {
+        return new UnrolledIterator();
+    }
+
+    /**
+     * Inner class that implements the interface Iterator
+     */
+    private class UnrolledIterator implements Iterator<E> {
+        // node holding the next value and the position of that value in the node
+        private Node current = head;
+        private int offset = 0;
+        // true if next() was called since the last remove()
+        private boolean canRemove = false;
+        // modCount of the list when this iterator last changed it
+        private int expectedModCount = modCount;
+
+        /**
+         * hasNext method
+         *
+         * @return true if there are values left to traverse
+         * Time complexity: O(1)
+         */
+        public boolean hasNext() {
+            return current != null && offset < current.count;
+        }
+
+        /**
+         * next method
+         *
+         * @return the next value in the list
+         * @throws NoSuchElementException if there are no values left
+         * @throws ConcurrentModificationException if the list was changed other than through this iterator
+         * Time complexity: O(1)
+         */
+        public E next() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            if (!hasNext())
+                throw new NoSuchElementException();
+            E value = (E) current.values[offset++];
+            canRemove = true;
+            if (offset == current.count && current.next != null) {
+                current = current.next;
+                offset = 0;
+            }
+            return value;
+        }
+
+        /**
+         * Removes the value returned by the last call to next()
+         *
+         * @throws IllegalStateException if next() was not called since the last remove()
+         * Time complexity: O(NODE_CAPACITY)
+         */
+        public void remove() {
+            if (!canRemove)
+                throw new IllegalStateException();
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            // locate the value just returned, which may sit at the end of the previous node
+            Node node = current;
+            int i = offset - 1;
+            if (i < 0) {
+                node = current.prev;
+                i = node.count - 1;
+            }
+            Node prev = node.prev;
+            Node next = node.next;
+            int before = (prev == null) ? 0 : prev.count;
+            removeAt(node, i);
+            if (node.count > 0) {
+                current = node;
+                offset = i;
+            } else if (prev != null && prev.count > before) {
+                // the remaining values were merged into the previous node
+                current = prev;
+                offset = before + i;
+            } else {
+                current = next;
+                offset = 0;
+            }
+            if (current != null && offset == current.count && current.next != null) {
+                current = current.next;
+                offset = 0;
+            }
+            canRemove = false;
+            expectedModCount = modCount;
+        }
+    }
+
+    /**
+     * Find the node holding a valid index, walking from the nearer end, and
+     * store the index of its first value in startIndex
+     *
+     * @param index the position of the value, 0 <= index < size
+     * @return the node holding the value at index
+     * Time complexity: O(n / NODE_CAPACITY)
+     */
+    private Node nodeFor(int index) {
+        if (index < (size >> 1)) {
+            int base = 0;
+            Node node = head;
+            while (index >= base + node.count) {
+                base += node.count;
+                node = node.next;
+            }
+            startIndex = base;
+            return node;
+        }
+        int base = size;
+        Node node = tail;
+        while (true) {
+            base -= node.count;
+            if (index >= base)
+                break;
+            node = node.prev;
+        }
+        startIndex = base;
+        return node;
+    }
+
+    /**
+     * Link a new empty node after pred
+     *
+     * @param pred the node that will precede the new node, or null to make it the head
+     * @return the new node
+     * Time complexity: O(1)
+     */
+    private Node linkAfter(Node pred) {
+        Node node = new Node();
+        Node succ = (pred == null) ? head : pred.next;
+        node.prev = pred;
+        node.next = succ;
+        if (pred == null)
+            head = node;
+        else
+            pred.next = node;
+        if (succ == null)
+            tail = node;
+        else
+            succ.prev = node;
+        return node;
+    }
+
+    /**
+     * Unlink an empty node from the list
+     *
+     * @param node the node to be removed
+     * Time complexity: O(1)
+     */
+    private void unlinkNode(Node node) {
+        if (node.prev == null)
+            head = node.next;
+        else
+            node.prev.next = node.next;
+        if (node.next == null)
+            tail = node.prev;
+        else
+            node.next.prev = node.prev;
+    }
+
+    /**
+     * Insert a value at position i of a node, splitting the node if it is full
+     *
+     * @param node  the node receiving the value
+     * @param i     the position inside the node, 0 <= i <= node.count
+     * @param value the value to be inserted
+     * Time complexity: O(NODE_CAPACITY)
+     */
+    private void insertAt(Node node, int i, E value) {
+        if (node.count == NODE_CAPACITY) {
+            // move the upper half into a new node
+            Node right = linkAfter(node);
+            int half = NODE_CAPACITY / 2;
+            System.arraycopy(node.values, half, right.values, 0, NODE_CAPACITY - half);
+            Arrays.fill(node.values, half, NODE_CAPACITY, null);
+            right.count = NODE_CAPACITY - half;
+            node.count = half;
+            if (i > half) {
+                node = right;
+                i -= half;
+            }
+        }
+        System.arraycopy(node.values, i, node.values, i + 1, node.count - i);
+        node.values[i] = value;
+        node.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Remove the value at position i of a node, merging sparse nodes with a neighbor
+     *
+     * @param node the node holding the value
+     * @param i    the position inside the node, 0 <= i < node.count
+     * @return the removed value
+     * Time complexity: O(NODE_CAPACITY)
+     */
+    private E removeAt(Node node, int i) {
+        E value = (E) node.values[i];
+        System.arraycopy(node.values, i + 1, node.values, i, node.count - i - 1);
+        node.values[--node.count] = null;
+        size--;
+        modCount++;
+        if (node.count == 0) {
+            unlinkNode(node);
+        } else if (node.count < MIN_FILL) {
+            Node prev = node.prev;
+            Node next = node.next;
+            if (prev != null && prev.count + node.count <= NODE_CAPACITY) {
+                System.arraycopy(node.values, 0, prev.values, prev.count, node.count);
+                prev.count += node.count;
+                node.count = 0;
+                unlinkNode(node);
+            } else if (next != null && next.count + node.count <= NODE_CAPACITY) {
+                System.arraycopy(next.values, 0, node.values, node.count, next.count);
+                node.count += next.count;
+                next.count = 0;
+                unlinkNode(next);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Check if the index is valid
+     *
+     * @param index to be checked
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     * Time complexity: O(1)
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+    }
+}